@@ -2,12 +2,18 @@ package comment;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@ComponentScan(basePackages = {"comment", "util", "feign.event"})
+@EntityScan(basePackages = {"comment", "outbox"})
+@EnableJpaRepositories(basePackages = {"comment", "outbox"})
+@ComponentScan(basePackages = {"comment", "util", "feign.event", "feign.user", "outbox"})
 @EnableFeignClients(basePackages = {"feign.event", "feign.user"})
+@EnableScheduling
 public class CommentServiceApp {
     public static void main(String[] args) {
         SpringApplication.run(CommentServiceApp.class, args);
@@ -2,12 +2,18 @@ package event;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@ComponentScan(basePackages = {"event", "util", "client", "feign.request"})
+@EntityScan(basePackages = {"event", "outbox"})
+@EnableJpaRepositories(basePackages = {"event", "outbox"})
+@ComponentScan(basePackages = {"event", "util", "client", "feign.request", "feign.user", "outbox"})
 @EnableFeignClients(basePackages = {"feign.request", "feign.user"})
+@EnableScheduling
 public class EventServiceApp {
     public static void main(String[] args) {
         SpringApplication.run(EventServiceApp.class, args);
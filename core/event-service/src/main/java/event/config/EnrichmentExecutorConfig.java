@@ -0,0 +1,20 @@
+package event.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class EnrichmentExecutorConfig {
+
+    /**
+     * Исполнитель для параллельных запросов к соседним сервисам: удалённые вызовы
+     * в основном ждут сеть, поэтому каждому достаточно виртуального потока.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService enrichmentExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
@@ -7,6 +7,7 @@ import event.service.AdminEventService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -19,14 +20,14 @@ public class AdminEventController {
     private final AdminEventService adminEventService;
 
     @GetMapping
-    public List<EventFullDto> getEvents(@ModelAttribute @Valid AdminEventSearchRequest request) {
+    public ResponseEntity<List<EventFullDto>> getEvents(@ModelAttribute @Valid AdminEventSearchRequest request) {
         int size = request.getSize() != null ? Math.max(1, request.getSize()) : 10;
         int from = request.getFrom() != null ? request.getFrom() : 0;
         int page = from / size;
 
         PageRequest pageRequest = PageRequest.of(page, size);
 
-        return adminEventService.getEvents(request, pageRequest);
+        return EventSliceResponses.toResponse(adminEventService.getEvents(request, pageRequest));
     }
 
     @PatchMapping("/{eventId}")
@@ -0,0 +1,25 @@
+package event.controller.event;
+
+import event.service.EventSlice;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+final class EventSliceResponses {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private EventSliceResponses() {
+    }
+
+    static <T> ResponseEntity<List<T>> toResponse(EventSlice<T> slice) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (slice.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, slice.nextCursor());
+        }
+        if (slice.total() != null) {
+            response.header(TOTAL_COUNT_HEADER, String.valueOf(slice.total()));
+        }
+        return response.body(slice.content());
+    }
+}
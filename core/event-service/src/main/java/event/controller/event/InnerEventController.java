@@ -7,8 +7,11 @@ import feign.event.EventOperations;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/events")
@@ -24,8 +27,15 @@ public class InnerEventController implements EventOperations {
     }
 
     @Override
-    @GetMapping("/confirmed")
-    public Map<Long, Long> getConfirmedRequestsBatchByEventIds(@RequestParam List<Long> eventIds) {
+    @PostMapping("/batch")
+    public Map<Long, EventFullDto> getByIds(@RequestBody List<Long> ids) {
+        return eventService.getEvents(new HashSet<>(ids)).stream()
+                .collect(Collectors.toMap(EventFullDto::getId, Function.identity()));
+    }
+
+    @Override
+    @PostMapping("/confirmed")
+    public Map<Long, Long> getConfirmedRequestsBatchByEventIds(@RequestBody List<Long> eventIds) {
         return eventStatsService.getConfirmedRequestsBatch(eventIds);
     }
 }
@@ -4,6 +4,7 @@ import dto.event.EventFullDto;
 import dto.event.EventShortDto;
 import dto.event.PublicEventSearchRequest;
 import event.service.EventService;
+import event.service.EventSlice;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -28,8 +29,9 @@ public class PublicEventController {
         int page = from / size;
 
         PageRequest pageRequest = PageRequest.of(page, size);
-        List<EventShortDto> events = eventService.getPublicEvents(requestParams, pageRequest, request.getRemoteAddr());
-        return ResponseEntity.ok(events);
+        EventSlice<EventShortDto> events = eventService.getPublicEvents(requestParams, pageRequest,
+                request.getRemoteAddr());
+        return EventSliceResponses.toResponse(events);
     }
 
     @GetMapping("/{id}")
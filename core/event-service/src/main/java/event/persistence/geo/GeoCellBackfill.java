@@ -0,0 +1,49 @@
+package event.persistence.geo;
+
+import event.persistence.model.Event;
+import event.persistence.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Заполняет {@code geo_cell} у событий, сохранённых до появления колонки.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GeoCellBackfill {
+    private static final int BATCH_SIZE = 500;
+
+    private final EventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long afterId = 0;
+        int updated = 0;
+        while (true) {
+            long from = afterId;
+            List<Event> batch = transactionTemplate.execute(status -> {
+                List<Event> events = eventRepository.findWithoutGeoCell(from, PageRequest.of(0, BATCH_SIZE));
+                events.forEach(event -> event.setGeoCell(
+                        GeoGrid.cellOf(event.getLocation().getLatitude(), event.getLocation().getLongitude())));
+                return events;
+            });
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            updated += batch.size();
+            afterId = batch.getLast().getId();
+        }
+        if (updated > 0) {
+            log.info("Заполнены ячейки геосетки для {} событий", updated);
+        }
+    }
+}
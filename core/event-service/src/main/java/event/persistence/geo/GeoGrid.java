@@ -0,0 +1,124 @@
+package event.persistence.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Сетка из ячеек 0.1° × 0.1° (около 11 км по широте). Номер ячейки — {@code row * COLUMNS + column},
+ * поэтому соседние по долготе ячейки одной строки образуют непрерывный диапазон номеров.
+ * Окрестность точки описывается диапазонами по индексу {@code geo_cell}: по одному на строку сетки,
+ * но не больше {@value #MAX_RANGES} — при большом радиусе соседние строки объединяются в полосы.
+ * Размер ячейки зашит в сохранённые номера: при его изменении колонку нужно пересчитать.
+ */
+public final class GeoGrid {
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    private static final int CELLS_PER_DEGREE = 10;
+    private static final int ROWS = 180 * CELLS_PER_DEGREE;
+    private static final int COLUMNS = 360 * CELLS_PER_DEGREE;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    private static final int MAX_RANGES = 16;
+
+    private GeoGrid() {
+    }
+
+    public static long cellOf(double latitude, double longitude) {
+        return (long) row(latitude) * COLUMNS + column(longitude);
+    }
+
+    /**
+     * Упорядоченные диапазоны номеров ячеек, покрывающие круг радиусом {@code radiusKm} вокруг точки.
+     * Диапазонов не больше {@value #MAX_RANGES}: при объединении строк в полосу в неё попадают и ячейки
+     * между строками вне круга, такие события отсекает точная проверка расстояния.
+     */
+    public static List<CellRange> covering(double latitude, double longitude, double radiusKm) {
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double minLat = Math.max(-90, latitude - latDelta);
+        double maxLat = Math.min(90, latitude + latDelta);
+
+        double maxAbsLat = Math.max(Math.abs(minLat), Math.abs(maxLat));
+        double cosLat = Math.cos(Math.toRadians(maxAbsLat));
+        boolean allLongitudes = maxAbsLat >= 89.9 || radiusKm / (KM_PER_DEGREE * cosLat) >= 180;
+
+        if (allLongitudes) {
+            return List.of(new CellRange((long) row(minLat) * COLUMNS, (long) row(maxLat) * COLUMNS + COLUMNS - 1));
+        }
+
+        double lonDelta = radiusKm / (KM_PER_DEGREE * cosLat);
+        double minLon = longitude - lonDelta;
+        double maxLon = longitude + lonDelta;
+        List<int[]> columns = new ArrayList<>();
+        if (minLon < -180) {
+            columns.add(new int[]{column(minLon + 360), COLUMNS - 1});
+            columns.add(new int[]{0, column(maxLon)});
+        } else if (maxLon >= 180) {
+            columns.add(new int[]{column(minLon), COLUMNS - 1});
+            columns.add(new int[]{0, column(maxLon - 360)});
+        } else {
+            columns.add(new int[]{column(minLon), column(maxLon)});
+        }
+
+        List<CellRange> ranges = new ArrayList<>();
+        for (int row = row(minLat); row <= row(maxLat); row++) {
+            for (int[] span : columns) {
+                ranges.add(new CellRange((long) row * COLUMNS + span[0], (long) row * COLUMNS + span[1]));
+            }
+        }
+        ranges.sort(Comparator.comparingLong(CellRange::from));
+        return limit(ranges);
+    }
+
+    /**
+     * Склеивает смежные диапазоны, затем закрывает самые узкие промежутки, пока диапазонов больше
+     * {@value #MAX_RANGES}. Так лишних ячеек в покрытии получается меньше всего.
+     */
+    private static List<CellRange> limit(List<CellRange> sorted) {
+        List<CellRange> merged = new ArrayList<>();
+        for (CellRange range : sorted) {
+            CellRange last = merged.isEmpty() ? null : merged.getLast();
+            if (last != null && range.from() <= last.to() + 1) {
+                merged.set(merged.size() - 1, new CellRange(last.from(), Math.max(last.to(), range.to())));
+            } else {
+                merged.add(range);
+            }
+        }
+        if (merged.size() <= MAX_RANGES) {
+            return merged;
+        }
+
+        // промежуток i лежит между диапазонами i и i + 1
+        List<Integer> gaps = new ArrayList<>();
+        for (int i = 0; i < merged.size() - 1; i++) {
+            gaps.add(i);
+        }
+        gaps.sort(Comparator.comparingLong(i -> merged.get(i + 1).from() - merged.get(i).to()));
+        boolean[] closed = new boolean[merged.size() - 1];
+        for (int i = 0; i < merged.size() - MAX_RANGES; i++) {
+            closed[gaps.get(i)] = true;
+        }
+
+        List<CellRange> limited = new ArrayList<>(MAX_RANGES);
+        long from = merged.getFirst().from();
+        for (int i = 0; i < merged.size(); i++) {
+            if (i == merged.size() - 1 || !closed[i]) {
+                limited.add(new CellRange(from, merged.get(i).to()));
+                if (i < merged.size() - 1) {
+                    from = merged.get(i + 1).from();
+                }
+            }
+        }
+        return limited;
+    }
+
+    private static int row(double latitude) {
+        return Math.min(ROWS - 1, (int) Math.floor((latitude + 90) * CELLS_PER_DEGREE));
+    }
+
+    private static int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) * CELLS_PER_DEGREE), COLUMNS);
+    }
+
+    public record CellRange(long from, long to) {
+    }
+}
@@ -6,6 +6,7 @@ import dto.user.UserShortDto;
 import event.persistence.model.Category;
 import event.persistence.model.Event;
 import event.persistence.model.EventLocation;
+import event.persistence.repository.EventShortRow;
 import org.mapstruct.*;
 import org.mapstruct.factory.Mappers;
 
@@ -35,6 +36,14 @@ public interface EventMapper {
     @Mapping(target = "views", ignore = true)
     EventShortDto toShortDto(Event event, UserShortDto user);
 
+    @Mapping(target = "id", source = "row.id")
+    @Mapping(target = "category.id", source = "row.categoryId")
+    @Mapping(target = "category.name", source = "row.categoryName")
+    @Mapping(target = "initiator", source = "user")
+    @Mapping(target = "confirmedRequests", ignore = true)
+    @Mapping(target = "views", ignore = true)
+    EventShortDto toShortDto(EventShortRow row, UserShortDto user);
+
     @Mapping(target = "id", source = "event.id")
     @Mapping(target = "annotation", source = "event.annotation")
     @Mapping(target = "description", source = "event.description")
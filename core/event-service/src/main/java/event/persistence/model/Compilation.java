@@ -2,6 +2,7 @@ package event.persistence.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.Set;
 
@@ -30,5 +31,6 @@ public class Compilation {
             joinColumns = @JoinColumn(name = "compilation_id")
     )
     @Column(name = "event_id")
+    @BatchSize(size = 50)
     private Set<Long> events;
 }
\ No newline at end of file
@@ -1,12 +1,16 @@
 package event.persistence.model;
 
+import event.persistence.geo.GeoGrid;
 import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_geo_cell", columnList = "geo_cell"),
+        @Index(name = "idx_events_views", columnList = "views DESC, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -64,6 +68,40 @@ public class Event {
     @Column(nullable = false, length = 20)
     private String state;
 
+    /**
+     * Счётчик подтверждённых заявок и момент его подсчёта в request-service. Пишутся только
+     * {@code EventRepository.updateConfirmedRequests} с проверкой {@code asOf}, поэтому сохранение
+     * загруженного ранее события не затирает более свежее значение из inbox.
+     */
+    @Column(name = "confirmed_requests", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long confirmedRequests = 0L;
+
+    @Column(name = "confirmed_requests_as_of", insertable = false, updatable = false)
+    private LocalDateTime confirmedRequestsAsOf;
+
+    /**
+     * Ячейка {@link GeoGrid}, в которую попадает место проведения; пересчитывается при каждом сохранении.
+     */
+    @Column(name = "geo_cell")
+    private Long geoCell;
+
+    /**
+     * Уникальные просмотры для сортировки по просмотрам. Пишется только {@code EventViewsRanking},
+     * поэтому при сохранении события колонка не перезаписывается.
+     */
+    @Column(name = "views", insertable = false, updatable = false, columnDefinition = "bigint default 0")
+    private Long views;
+
+    @PrePersist
+    @PreUpdate
+    void updateGeoCell() {
+        geoCell = location != null && location.getLatitude() != null && location.getLongitude() != null
+                ? GeoGrid.cellOf(location.getLatitude(), location.getLongitude())
+                : null;
+    }
+
     public Boolean getRequestModeration() {
         return isRequestModeration != null ? isRequestModeration : true;
     }
@@ -72,6 +110,10 @@ public class Event {
         return isPaid != null ? isPaid : false;
     }
 
+    public Long getConfirmedRequests() {
+        return confirmedRequests != null ? confirmedRequests : 0L;
+    }
+
     public Integer getParticipantLimit() {
         return participantLimit != null ? participantLimit : 0;
     }
@@ -0,0 +1,38 @@
+package event.persistence.repository;
+
+import event.persistence.model.Event;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Позиция в выдаче событий, упорядоченной по {@code (eventDate, id)}.
+ * Клиенту отдаётся как непрозрачная строка.
+ */
+public record EventCursor(LocalDateTime eventDate, Long id) {
+
+    public static EventCursor of(Event event) {
+        return new EventCursor(event.getEventDate(), event.getId());
+    }
+
+    public static EventCursor of(EventShortRow row) {
+        return new EventCursor(row.eventDate(), row.id());
+    }
+
+    public String encode() {
+        String raw = eventDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EventCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new EventCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Некорректный курсор: " + cursor);
+        }
+    }
+}
@@ -1,25 +1,37 @@
 package event.persistence.repository;
 
+import dto.request.EventConfirmedRequestsDto;
 import event.persistence.model.Event;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
-public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>,
+        EventRepositoryCustom {
 
     List<Event> findAllById(@NonNull Iterable<Long> ids);
 
     boolean existsById(@NonNull Long id);
 
-    Page<Event> findAllByInitiatorOrderByCreatedAtDesc(Long initiatorId, Pageable pageable);
+    @Query("SELECT NEW event.persistence.repository.EventShortRow(" +
+            "e.id, e.title, e.annotation, c.id, c.name, e.initiator, e.eventDate, e.isPaid, e.confirmedRequests, " +
+            "e.createdAt) " +
+            "FROM Event e " +
+            "LEFT JOIN e.category c " +
+            "WHERE e.initiator = :initiatorId " +
+            "ORDER BY e.createdAt DESC, e.id DESC")
+    Slice<EventShortRow> findShortRowsByInitiator(@Param("initiatorId") Long initiatorId, Pageable pageable);
 
     Optional<Event> findByIdAndInitiator(Long eventId, Long initiatorId);
 
@@ -35,10 +47,26 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
             "WHERE e.id = :eventId")
     Optional<Event> findByIdWithCategoryAndInitiator(@Param("eventId") Long eventId);
 
+    @Query("SELECT MIN(e.createdAt) FROM Event e")
+    Optional<LocalDateTime> findMinCreatedAt();
+
     @Query("SELECT e FROM Event e " +
-            "LEFT JOIN FETCH e.category " +
+            "WHERE e.geoCell IS NULL AND e.location.latitude IS NOT NULL AND e.location.longitude IS NOT NULL " +
+            "AND e.id > :afterId " +
+            "ORDER BY e.id")
+    List<Event> findWithoutGeoCell(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT NEW dto.request.EventConfirmedRequestsDto(e.id, e.confirmedRequests) " +
+            "FROM Event e " +
             "WHERE e.id IN :eventIds")
-    List<Event> findAllByIdWithCategoryAndInitiator(@Param("eventIds") List<Long> eventIds);
+    List<EventConfirmedRequestsDto> findConfirmedRequestsByIds(@Param("eventIds") List<Long> eventIds);
 
-    Event findFirstByOrderByCreatedAtAsc();
+    @Modifying
+    @Query("UPDATE Event e " +
+            "SET e.confirmedRequests = :confirmedCount, e.confirmedRequestsAsOf = :asOf " +
+            "WHERE e.id = :eventId " +
+            "AND (e.confirmedRequestsAsOf IS NULL OR e.confirmedRequestsAsOf < :asOf)")
+    int updateConfirmedRequests(@Param("eventId") Long eventId,
+                                @Param("confirmedCount") Long confirmedCount,
+                                @Param("asOf") LocalDateTime asOf);
 }
\ No newline at end of file
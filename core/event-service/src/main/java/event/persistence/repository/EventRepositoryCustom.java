@@ -0,0 +1,42 @@
+package event.persistence.repository;
+
+import event.persistence.model.Event;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+public interface EventRepositoryCustom {
+
+    /**
+     * Страница в порядке {@code (eventDate, id)}: после {@code cursor}, если он задан, иначе со смещения {@code pageable}.
+     * В отличие от {@code findAll(spec, pageable)} не выполняет {@code COUNT(*)}: выбирается на одну строку больше,
+     * чтобы узнать, есть ли следующая страница. Категории загружаются в том же запросе.
+     */
+    Slice<Event> findSliceByEventDate(Specification<Event> spec, EventCursor cursor, Pageable pageable);
+
+    /**
+     * То же, что {@link #findSliceByEventDate}, но только с колонками краткого представления.
+     */
+    Slice<EventShortRow> findShortSliceByEventDate(Specification<Event> spec, EventCursor cursor, Pageable pageable);
+
+    /**
+     * Страница по убыванию релевантности {@code tsQuery}; условие полнотекстового поиска должно быть в {@code spec}.
+     */
+    Slice<EventShortRow> findShortSliceByRelevance(Specification<Event> spec, String tsQuery, Pageable pageable);
+
+    /**
+     * Страница по убыванию сохранённых просмотров, фильтр {@code spec} применяется в том же запросе.
+     */
+    Slice<EventShortRow> findShortSliceByViews(Specification<Event> spec, Pageable pageable);
+
+    List<EventShortRow> findShortRows(Specification<Event> spec, Sort sort);
+
+    /**
+     * Записывает просмотры событий одним пакетом; отсутствующие события пропускаются.
+     */
+    void updateViews(Map<Long, Long> views);
+}
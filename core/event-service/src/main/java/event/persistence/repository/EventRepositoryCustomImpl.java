@@ -0,0 +1,143 @@
+package event.persistence.repository;
+
+import event.persistence.model.Category;
+import event.persistence.model.Event;
+import event.persistence.repository.specification.EventSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+@RequiredArgsConstructor
+public class EventRepositoryCustomImpl implements EventRepositoryCustom {
+    private static final Sort EVENT_DATE_ORDER = Sort.by("eventDate", "id");
+    private static final int UPDATE_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Event> findSliceByEventDate(Specification<Event> spec, EventCursor cursor, Pageable pageable) {
+        return findSliceByEventDate(Event.class, spec, cursor, pageable);
+    }
+
+    @Override
+    public Slice<EventShortRow> findShortSliceByEventDate(Specification<Event> spec, EventCursor cursor,
+                                                          Pageable pageable) {
+        return findSliceByEventDate(EventShortRow.class, spec, cursor, pageable);
+    }
+
+    @Override
+    public Slice<EventShortRow> findShortSliceByRelevance(Specification<Event> spec, String tsQuery,
+                                                          Pageable pageable) {
+        return findSlice(EventShortRow.class, spec, pageable, (root, criteriaBuilder) -> List.of(
+                criteriaBuilder.desc(criteriaBuilder.function("fts_rank", Double.class,
+                        root.get("annotation"), root.get("description"), criteriaBuilder.literal(tsQuery))),
+                criteriaBuilder.asc(root.get("id"))));
+    }
+
+    @Override
+    public Slice<EventShortRow> findShortSliceByViews(Specification<Event> spec, Pageable pageable) {
+        return findSlice(EventShortRow.class, spec, pageable, (root, criteriaBuilder) -> List.of(
+                criteriaBuilder.desc(root.get("views")),
+                criteriaBuilder.asc(root.get("id"))));
+    }
+
+    @Override
+    public void updateViews(Map<Long, Long> views) {
+        List<Map.Entry<Long, Long>> entries = List.copyOf(views.entrySet());
+        jdbcTemplate.batchUpdate("UPDATE events SET views = ? WHERE id = ?", entries, UPDATE_BATCH_SIZE,
+                (statement, entry) -> {
+                    statement.setLong(1, entry.getValue());
+                    statement.setLong(2, entry.getKey());
+                });
+    }
+
+    @Override
+    public List<EventShortRow> findShortRows(Specification<Event> spec, Sort sort) {
+        return createQuery(EventShortRow.class, spec, sortOrders(sort)).getResultList();
+    }
+
+    private <R> Slice<R> findSliceByEventDate(Class<R> type, Specification<Event> spec, EventCursor cursor,
+                                              Pageable pageable) {
+        if (cursor == null) {
+            return findSlice(type, spec, pageable, sortOrders(EVENT_DATE_ORDER));
+        }
+        return findSlice(type, spec.and(EventSpecifications.after(cursor)), PageRequest.of(0, pageable.getPageSize()),
+                sortOrders(EVENT_DATE_ORDER));
+    }
+
+    private <R> Slice<R> findSlice(Class<R> type, Specification<Event> spec, Pageable pageable,
+                                   BiFunction<Root<Event>, CriteriaBuilder, List<Order>> orders) {
+        List<R> content = createQuery(type, spec, orders)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    private <R> TypedQuery<R> createQuery(Class<R> type, Specification<Event> spec,
+                                          BiFunction<Root<Event>, CriteriaBuilder, List<Order>> orders) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = criteriaBuilder.createQuery(type);
+        Root<Event> root = query.from(Event.class);
+
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(selection(type, root, criteriaBuilder)).orderBy(orders.apply(root, criteriaBuilder));
+        return entityManager.createQuery(query);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> Selection<R> selection(Class<R> type, Root<Event> root, CriteriaBuilder criteriaBuilder) {
+        if (type == Event.class) {
+            root.fetch("category", JoinType.LEFT);
+            return (Selection<R>) root;
+        }
+
+        Join<Event, Category> category = root.join("category", JoinType.LEFT);
+        return criteriaBuilder.construct(type,
+                root.get("id"),
+                root.get("title"),
+                root.get("annotation"),
+                category.get("id"),
+                category.get("name"),
+                root.get("initiator"),
+                root.get("eventDate"),
+                root.get("isPaid"),
+                root.get("confirmedRequests"),
+                root.get("createdAt"));
+    }
+
+    private static BiFunction<Root<Event>, CriteriaBuilder, List<Order>> sortOrders(Sort sort) {
+        return (root, criteriaBuilder) -> sort.isSorted()
+                ? QueryUtils.toOrders(sort, root, criteriaBuilder)
+                : List.of();
+    }
+}
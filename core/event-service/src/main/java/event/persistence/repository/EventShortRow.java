@@ -0,0 +1,19 @@
+package event.persistence.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Колонки события, нужные для краткого представления в списках, без описания и места проведения.
+ * {@code createdAt} — нижняя граница окна, в котором запрашиваются просмотры события.
+ */
+public record EventShortRow(Long id,
+                            String title,
+                            String annotation,
+                            Long categoryId,
+                            String categoryName,
+                            Long initiator,
+                            LocalDateTime eventDate,
+                            Boolean paid,
+                            Long confirmedRequests,
+                            LocalDateTime createdAt) {
+}
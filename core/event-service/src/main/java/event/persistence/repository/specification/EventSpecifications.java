@@ -1,7 +1,13 @@
 package event.persistence.repository.specification;
 
+import event.persistence.geo.GeoGrid;
 import event.persistence.model.Event;
 import event.persistence.model.EventState;
+import event.persistence.repository.EventCursor;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
@@ -91,4 +97,60 @@ public class EventSpecifications {
             return root.get("state").in(states);
         };
     }
+
+    public static Specification<Event> after(EventCursor cursor) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.or(
+                criteriaBuilder.greaterThan(root.get("eventDate"), cursor.eventDate()),
+                criteriaBuilder.and(
+                        criteriaBuilder.equal(root.get("eventDate"), cursor.eventDate()),
+                        criteriaBuilder.greaterThan(root.get("id"), cursor.id())
+                )
+        );
+    }
+
+    /**
+     * Полнотекстовый поиск по аннотации и описанию через GIN-индекс, {@code tsQuery} — из {@code EventSearchQuery}.
+     */
+    public static Specification<Event> matchesText(String tsQuery) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.isTrue(criteriaBuilder.function("fts_match",
+                Boolean.class, root.get("annotation"), root.get("description"), criteriaBuilder.literal(tsQuery)));
+    }
+
+    /**
+     * События в радиусе {@code radiusKm} от точки. Сначала отбираются ячейки сетки по индексу {@code geo_cell},
+     * затем точное расстояние по большому кругу проверяется только для событий из этих ячеек.
+     */
+    public static Specification<Event> withinRadius(double latitude, double longitude, double radiusKm) {
+        return (root, query, criteriaBuilder) -> {
+            Path<Long> geoCell = root.get("geoCell");
+            Predicate[] cells = GeoGrid.covering(latitude, longitude, radiusKm).stream()
+                    .map(range -> criteriaBuilder.between(geoCell, range.from(), range.to()))
+                    .toArray(Predicate[]::new);
+
+            Expression<Double> eventLat = toRadians(criteriaBuilder, root.get("location").get("latitude"));
+            Expression<Double> eventLon = toRadians(criteriaBuilder, root.get("location").get("longitude"));
+            double pointLat = Math.toRadians(latitude);
+            double pointLon = Math.toRadians(longitude);
+
+            // косинус центрального угла между точками: чем он больше, тем ближе точки
+            Expression<Double> cosDistance = criteriaBuilder.sum(
+                    criteriaBuilder.prod(function(criteriaBuilder, "sin", eventLat), Math.sin(pointLat)),
+                    criteriaBuilder.prod(
+                            criteriaBuilder.prod(function(criteriaBuilder, "cos", eventLat), Math.cos(pointLat)),
+                            function(criteriaBuilder, "cos", criteriaBuilder.diff(eventLon, pointLon))));
+
+            return criteriaBuilder.and(
+                    criteriaBuilder.or(cells),
+                    criteriaBuilder.greaterThanOrEqualTo(cosDistance, Math.cos(radiusKm / GeoGrid.EARTH_RADIUS_KM)));
+        };
+    }
+
+    private static Expression<Double> toRadians(CriteriaBuilder criteriaBuilder, Path<Float> degrees) {
+        return criteriaBuilder.prod(degrees.as(Double.class), Math.PI / 180);
+    }
+
+    private static Expression<Double> function(CriteriaBuilder criteriaBuilder, String name,
+                                               Expression<Double> argument) {
+        return criteriaBuilder.function(name, Double.class, argument);
+    }
 }
\ No newline at end of file
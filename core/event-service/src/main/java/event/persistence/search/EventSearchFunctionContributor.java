@@ -0,0 +1,32 @@
+package event.persistence.search;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Регистрирует функции полнотекстового поиска по событиям для HQL и Criteria API:
+ * {@code fts_match(annotation, description, query)} и {@code fts_rank(annotation, description, query)}.
+ * Выражение {@code tsvector} совпадает с выражением GIN-индекса из {@link EventSearchIndexInitializer},
+ * поэтому Postgres использует индекс, а он обновляется вместе со строкой без триггеров.
+ */
+public class EventSearchFunctionContributor implements FunctionContributor {
+    static final String TS_CONFIG = "simple";
+    static final String DOCUMENT = "to_tsvector('" + TS_CONFIG + "', annotation || ' ' || description)";
+
+    private static final String ARGS_DOCUMENT = "to_tsvector('" + TS_CONFIG + "', ?1 || ' ' || ?2)";
+    private static final String ARGS_QUERY = "to_tsquery('" + TS_CONFIG + "', ?3)";
+
+    static final String MATCH = "(" + ARGS_DOCUMENT + " @@ " + ARGS_QUERY + ")";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        functionContributions.getFunctionRegistry().registerPattern("fts_match", MATCH,
+                types.resolve(StandardBasicTypes.BOOLEAN));
+        functionContributions.getFunctionRegistry().registerPattern("fts_rank",
+                "ts_rank(" + ARGS_DOCUMENT + ", " + ARGS_QUERY + ")",
+                types.resolve(StandardBasicTypes.DOUBLE));
+    }
+}
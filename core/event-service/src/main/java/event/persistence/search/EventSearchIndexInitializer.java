@@ -0,0 +1,42 @@
+package event.persistence.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Создаёт GIN-индекс для полнотекстового поиска, если его ещё нет.
+ * Схема событий создаётся Hibernate, который индексы по выражениям не умеет.
+ * Прерванный {@code CREATE INDEX CONCURRENTLY} оставляет индекс в состоянии INVALID, который
+ * {@code IF NOT EXISTS} молча пропускает, поэтому такой индекс удаляется и строится заново.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventSearchIndexInitializer {
+    static final String INDEX = "idx_events_fts";
+
+    private static final String CREATE_INDEX = "CREATE INDEX CONCURRENTLY IF NOT EXISTS " + INDEX +
+            " ON events USING GIN (" + EventSearchFunctionContributor.DOCUMENT + ")";
+    private static final String IS_INVALID = "SELECT EXISTS (SELECT 1 FROM pg_index " +
+            "WHERE indexrelid = to_regclass(?) AND NOT indisvalid)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndex() {
+        try {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_INVALID, Boolean.class, INDEX))) {
+                log.warn("Индекс {} в состоянии INVALID, пересоздаём", INDEX);
+                jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + INDEX);
+            }
+            jdbcTemplate.execute(CREATE_INDEX);
+        } catch (Exception e) {
+            log.error("Не удалось создать индекс полнотекстового поиска, поиск по тексту будет без индекса " +
+                    "до следующего запуска: {}", e.getMessage());
+        }
+    }
+}
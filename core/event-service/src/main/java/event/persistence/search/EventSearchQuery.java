@@ -0,0 +1,25 @@
+package event.persistence.search;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+public final class EventSearchQuery {
+
+    private EventSearchQuery() {
+    }
+
+    /**
+     * Превращает пользовательский текст в {@code tsquery}: все слова должны встретиться,
+     * каждое ищется по префиксу. Операторы tsquery из ввода отбрасываются.
+     *
+     * @return {@code null}, если в тексте нет ни одного слова
+     */
+    public static String toPrefixQuery(String text) {
+        String query = Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? null : query;
+    }
+}
@@ -5,10 +5,8 @@ import dto.event.EventFullDto;
 import dto.event.UpdateEventAdminRequest;
 import org.springframework.data.domain.Pageable;
 
-import java.util.List;
-
 public interface AdminEventService {
-    List<EventFullDto> getEvents(AdminEventSearchRequest requestParams, Pageable pageable);
+    EventSlice<EventFullDto> getEvents(AdminEventSearchRequest requestParams, Pageable pageable);
 
     EventFullDto updateEvent(Long eventId, UpdateEventAdminRequest request);
 }
@@ -7,12 +7,14 @@ import event.persistence.model.Event;
 import event.persistence.model.EventState;
 import enums.StateAction;
 import event.persistence.mapper.EventMapper;
+import event.persistence.repository.EventCursor;
 import event.persistence.repository.EventRepository;
 import event.persistence.repository.specification.EventSpecifications;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,7 +23,6 @@ import util.exception.NotFoundException;
 import event.validation.EventValidationUtils;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -31,29 +32,26 @@ public class AdminEventServiceImpl implements AdminEventService {
     private final EventRepository eventRepository;
     private final EventMapper eventMapper;
     private final EventStatsService eventStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
-    public List<EventFullDto> getEvents(AdminEventSearchRequest requestParams,
-                                        Pageable pageable) {
+    public EventSlice<EventFullDto> getEvents(AdminEventSearchRequest requestParams,
+                                              Pageable pageable) {
 
         EventValidationUtils.validateDateRange(requestParams.getRangeStart(), requestParams.getRangeEnd());
 
         Specification<Event> specification = buildAdminEventsSpecification(requestParams);
 
-        Page<Long> eventIdsPage = eventRepository.findAll(specification, pageable)
-                .map(Event::getId);
-        List<Long> eventIds = eventIdsPage.getContent();
+        EventCursor cursor = requestParams.getCursor() != null ? EventCursor.decode(requestParams.getCursor()) : null;
+        Slice<Event> slice = eventRepository.findSliceByEventDate(specification, cursor, pageable);
+        Long total = Boolean.TRUE.equals(requestParams.getWithTotal()) ? eventRepository.count(specification) : null;
 
-        if (eventIds.isEmpty()) {
-            return List.of();
-        }
-
-        List<Event> events = eventRepository.findAllByIdWithCategoryAndInitiator(eventIds);
-
-        log.debug("Админский поиск событий: найдено {} событий", events.size());
+        log.debug("Админский поиск событий: найдено {} событий", slice.getNumberOfElements());
 
-        return eventStatsService.enrichEventsFullDtoBatch(events, eventMapper);
+        String nextCursor = slice.hasNext() ? EventCursor.of(slice.getContent().getLast()).encode() : null;
+        return new EventSlice<>(eventStatsService.enrichEventsFullDtoBatch(slice.getContent(), eventMapper),
+                nextCursor, total);
     }
 
     private Specification<Event> buildAdminEventsSpecification(AdminEventSearchRequest params) {
@@ -99,6 +97,7 @@ public class AdminEventServiceImpl implements AdminEventService {
 
         Event updatedEvent = eventRepository.save(event);
         log.info("Событие обновлено администратором: ID={}, новое состояние={}", eventId, updatedEvent.getState());
+        eventPublisher.publishEvent(new EventChangedEvent(eventId));
 
         return eventStatsService.enrichEventFullDto(updatedEvent, eventMapper);
     }
@@ -0,0 +1,28 @@
+package event.service;
+
+import event.persistence.model.Category;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Сбрасывает кэш второго уровня категорий после коммита изменения. Изменения через JPA Hibernate
+ * учитывает и сам; явный сброс закрывает правки в обход сессии, например массовыми запросами.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryCacheEvictor {
+    private final EntityManagerFactory entityManagerFactory;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictEntityData(Category.class, event.categoryId());
+        sessionFactory.getCache().evictQueryRegions();
+        log.debug("Кэш категории сброшен: ID={}", event.categoryId());
+    }
+}
@@ -0,0 +1,7 @@
+package event.service;
+
+/**
+ * Публикуется при создании, переименовании и удалении категории.
+ */
+public record CategoryChangedEvent(Long categoryId) {
+}
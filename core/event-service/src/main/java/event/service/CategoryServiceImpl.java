@@ -8,6 +8,7 @@ import event.persistence.repository.CategoryRepository;
 import event.persistence.repository.EventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +26,7 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final EventRepository eventRepository;
     private final CategoryMapper categoryMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -38,6 +40,7 @@ public class CategoryServiceImpl implements CategoryService {
         Category category = categoryMapper.toCategory(newCategoryDto);
         Category savedCategory = categoryRepository.save(category);
         log.info("Создана новая категория: ID={}, name={}", savedCategory.getId(), savedCategory.getName());
+        eventPublisher.publishEvent(new CategoryChangedEvent(savedCategory.getId()));
 
         return categoryMapper.toCategoryDto(savedCategory);
     }
@@ -57,6 +60,7 @@ public class CategoryServiceImpl implements CategoryService {
 
         categoryRepository.deleteById(catId);
         log.info("Категория удалена: ID={}", catId);
+        eventPublisher.publishEvent(new CategoryChangedEvent(catId));
     }
 
     @Transactional
@@ -83,6 +87,7 @@ public class CategoryServiceImpl implements CategoryService {
         categoryToUpdate.setName(newName);
         Category savedCategory = categoryRepository.save(categoryToUpdate);
         log.info("Категория обновлена: ID={}, новое имя={}", catId, newName);
+        eventPublisher.publishEvent(new CategoryChangedEvent(catId));
 
         return categoryMapper.toCategoryDto(savedCategory);
     }
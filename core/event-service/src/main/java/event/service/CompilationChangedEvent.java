@@ -0,0 +1,7 @@
+package event.service;
+
+/**
+ * Публикуется при изменении или удалении подборки.
+ */
+public record CompilationChangedEvent(Long compilationId) {
+}
@@ -12,6 +12,7 @@ import event.persistence.repository.CompilationRepository;
 import event.persistence.repository.EventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -22,10 +23,15 @@ import org.springframework.transaction.annotation.Transactional;
 import util.exception.ConflictException;
 import util.exception.NotFoundException;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -37,6 +43,8 @@ public class CompilationServiceImpl implements CompilationService {
     private final EventRepository eventRepository;
     private final CompilationMapper compilationMapper;
     private final EventStatsService eventStatsService;
+    private final CompilationViewCache compilationViewCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -44,7 +52,6 @@ public class CompilationServiceImpl implements CompilationService {
         log.debug("Создание новой компиляции: title={}", request.getTitle());
 
         Compilation compilation = compilationMapper.toEntity(request);
-        List<Long> eventIds = new ArrayList<>();
         if (request.getEvents() != null && !request.getEvents().isEmpty()) {
             List<Long> events = eventRepository.findAllById(new ArrayList<>(request.getEvents())).stream()
                     .map(Event::getId).toList();
@@ -54,7 +61,6 @@ public class CompilationServiceImpl implements CompilationService {
                         request.getEvents().size(), events.size());
                 throw new NotFoundException("Некоторые события не найдены");
             }
-            eventIds.addAll(events);
             compilation.setEvents(new HashSet<>(events));
             log.debug("Добавлено событий в компиляцию: {}", events.size());
         } else {
@@ -66,10 +72,7 @@ public class CompilationServiceImpl implements CompilationService {
             log.info("Создана новая компиляция: ID={}, title={}, событий={}",
                     savedCompilation.getId(), savedCompilation.getTitle(), savedCompilation.getEvents().size());
 
-            Set<EventShortDto> events = eventRepository.findAllById(eventIds).stream()
-                    .map(event ->  eventStatsService.enrichEventShortDto(event, EventMapper.INSTANCE))
-                    .collect(Collectors.toSet());
-            return compilationMapper.toDto(savedCompilation, events);
+            return toResponses(List.of(savedCompilation), false).getFirst();
         } catch (DataIntegrityViolationException e) {
             log.warn("Попытка создания компиляции с существующим названием: {}", request.getTitle());
             throw new ConflictException("Компиляция с названием уже существует: " + request.getTitle());
@@ -97,7 +100,6 @@ public class CompilationServiceImpl implements CompilationService {
             log.debug("Обновлен статус закрепления: {}", request.getPinned());
         }
 
-        List<Long> eventIds = new ArrayList<>();
         if (request.getEvents() != null) {
             if (request.getEvents().isEmpty()) {
                 compilation.setEvents(new HashSet<>());
@@ -111,7 +113,6 @@ public class CompilationServiceImpl implements CompilationService {
                             request.getEvents().size(), events.size());
                     throw new NotFoundException("Некоторые события не найдены");
                 }
-                eventIds.addAll(events);
                 compilation.setEvents(new HashSet<>(events));
                 log.debug("Обновлены события компиляции: количество={}", events.size());
             }
@@ -121,10 +122,8 @@ public class CompilationServiceImpl implements CompilationService {
             Compilation updatedCompilation = compilationRepository.save(compilation);
             log.info("Компиляция обновлена: ID={}, title={}, событий={}",
                     compId, updatedCompilation.getTitle(), updatedCompilation.getEvents().size());
-            Set<EventShortDto> events = eventRepository.findAllById(eventIds).stream()
-                    .map(event ->  eventStatsService.enrichEventShortDto(event, EventMapper.INSTANCE))
-                    .collect(Collectors.toSet());
-            return compilationMapper.toDto(updatedCompilation, events);
+            eventPublisher.publishEvent(new CompilationChangedEvent(compId));
+            return toResponses(List.of(updatedCompilation), false).getFirst();
         } catch (DataIntegrityViolationException e) {
             log.warn("Попытка обновления на существующее название: {}", request.getTitle());
             throw new ConflictException("Компиляция с названием уже существует: " + request.getTitle());
@@ -142,6 +141,7 @@ public class CompilationServiceImpl implements CompilationService {
         }
 
         compilationRepository.deleteById(compId);
+        eventPublisher.publishEvent(new CompilationChangedEvent(compId));
         log.info("Компиляция удалена: ID={}", compId);
     }
 
@@ -161,23 +161,87 @@ public class CompilationServiceImpl implements CompilationService {
             compilationsPage = compilationRepository.findAll(sortedPageable);
         }
 
-        return compilationsPage.getContent().stream()
-                .map(compilation -> {
-                    Set<EventShortDto> events = eventRepository.findAllById(compilation.getEvents()).stream()
-                            .map(event -> eventStatsService.enrichEventShortDto(event, EventMapper.INSTANCE))
-                            .collect(Collectors.toSet());
-                    return compilationMapper.toDto(compilation, events);
-                })
-                .collect(Collectors.toList());
+        return toResponses(compilationsPage.getContent(), true);
     }
 
     @Override
     public CompilationResponse getCompilationById(Long compId) {
         Compilation compilation = compilationRepository.findById(compId)
                 .orElseThrow(() -> new NotFoundException("Компиляция с идентификатором не найдена: " + compId));
-        Set<EventShortDto> events = eventRepository.findAllById(compilation.getEvents()).stream()
-                .map(event -> eventStatsService.enrichEventShortDto(event, EventMapper.INSTANCE))
-                .collect(Collectors.toSet());
-        return compilationMapper.toDto(compilation,  events);
+        return toResponses(List.of(compilation), true).getFirst();
+    }
+
+    /**
+     * События подборок берутся из кэша, недостающие загружаются одним запросом и кэшируются.
+     * Счётчики накладываются на копии одним пакетом для всей страницы. При создании и изменении
+     * подборки кэш не используется: сброс после коммита ещё не выполнен, а незакоммиченные данные
+     * кэшировать нельзя.
+     */
+    private List<CompilationResponse> toResponses(List<Compilation> compilations, boolean useCache) {
+        long generation = compilationViewCache.currentGeneration();
+        Map<Long, CompilationViewCache.Events> cachedEvents = new HashMap<>();
+        List<Compilation> misses = new ArrayList<>();
+        for (Compilation compilation : compilations) {
+            CompilationViewCache.Events cached = useCache ? compilationViewCache.get(compilation.getId()) : null;
+            if (cached != null) {
+                cachedEvents.put(compilation.getId(), cached);
+            } else {
+                misses.add(compilation);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            CompilationViewCache.Events events = loadEvents(misses.stream()
+                    .flatMap(compilation -> compilation.getEvents().stream())
+                    .collect(Collectors.toSet()));
+            for (Compilation compilation : misses) {
+                CompilationViewCache.Events compilationEvents = pickEvents(compilation, events);
+                if (useCache) {
+                    compilationViewCache.put(compilation.getId(), compilationEvents, generation);
+                }
+                cachedEvents.put(compilation.getId(), compilationEvents);
+            }
+        }
+
+        Map<Long, List<EventShortDto>> eventsWithCounters = new HashMap<>();
+        Map<Long, LocalDateTime> createdAt = new HashMap<>();
+        cachedEvents.forEach((compilationId, events) -> {
+            eventsWithCounters.put(compilationId, events.events().stream()
+                    .map(event -> event.toBuilder().build())
+                    .toList());
+            createdAt.putAll(events.createdAt());
+        });
+        eventStatsService.applyCounters(eventsWithCounters.values().stream()
+                .flatMap(List::stream)
+                .toList(), createdAt);
+
+        return compilations.stream()
+                .map(compilation -> compilationMapper.toDto(compilation,
+                        new HashSet<>(eventsWithCounters.get(compilation.getId()))))
+                .collect(Collectors.toList());
+    }
+
+    private CompilationViewCache.Events loadEvents(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return new CompilationViewCache.Events(List.of(), Map.of());
+        }
+
+        List<Event> events = eventRepository.findAllById(eventIds);
+        Map<Long, LocalDateTime> createdAt = new HashMap<>();
+        events.forEach(event -> createdAt.put(event.getId(), event.getCreatedAt()));
+        return new CompilationViewCache.Events(
+                eventStatsService.toShortDtosWithoutCounters(events, EventMapper.INSTANCE), createdAt);
+    }
+
+    private CompilationViewCache.Events pickEvents(Compilation compilation, CompilationViewCache.Events events) {
+        Map<Long, EventShortDto> byId = events.events().stream()
+                .collect(Collectors.toMap(EventShortDto::getId, Function.identity()));
+        List<EventShortDto> picked = compilation.getEvents().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        Map<Long, LocalDateTime> createdAt = new HashMap<>();
+        picked.forEach(event -> createdAt.put(event.getId(), events.createdAt().get(event.getId())));
+        return new CompilationViewCache.Events(picked, createdAt);
     }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package event.service;
+
+import dto.event.EventShortDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ограниченный LRU-кэш событий подборок без счётчиков: просмотры и подтверждённые заявки
+ * накладываются отдельно при каждом чтении, для окна просмотров рядом хранится момент создания событий. Записи сбрасываются после коммита изменений
+ * подборки, входящего в неё события или категории, а также по истечении {@code ttl-ms}.
+ * Кэш локален для экземпляра сервиса: сброс по изменениям происходит только на том экземпляре,
+ * где изменение было сделано, остальные экземпляры полагаются лишь на {@code ttl-ms}.
+ */
+@Component
+public class CompilationViewCache {
+    private final Map<Long, View> views;
+    private final AtomicLong generation = new AtomicLong();
+
+    @Value("${compilation-view-cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    public CompilationViewCache(@Value("${compilation-view-cache.max-size:1000}") int maxSize) {
+        this.views = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, View> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized Events get(Long compilationId) {
+        View view = views.get(compilationId);
+        if (view == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - view.cachedAt() >= ttlMs) {
+            views.remove(compilationId);
+            return null;
+        }
+        return view.events();
+    }
+
+    /**
+     * Номер поколения кэша нужно взять до чтения данных из БД и передать в {@link #put}:
+     * если за это время что-то было сброшено, прочитанные данные могли устареть и не кэшируются.
+     */
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    public synchronized void put(Long compilationId, Events events, long expectedGeneration) {
+        if (generation.get() == expectedGeneration) {
+            views.put(compilationId, new View(
+                    new Events(List.copyOf(events.events()), Map.copyOf(events.createdAt())),
+                    System.currentTimeMillis()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCompilationChanged(CompilationChangedEvent event) {
+        generation.incrementAndGet();
+        views.remove(event.compilationId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEventChanged(EventChangedEvent event) {
+        generation.incrementAndGet();
+        views.values().removeIf(view -> view.events().createdAt().containsKey(event.eventId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCategoryChanged(CategoryChangedEvent event) {
+        generation.incrementAndGet();
+        views.clear();
+    }
+
+    /**
+     * События подборки и момент создания каждого из них по id.
+     */
+    public record Events(List<EventShortDto> events, Map<Long, LocalDateTime> createdAt) {
+    }
+
+    private record View(Events events, long cachedAt) {
+    }
+}
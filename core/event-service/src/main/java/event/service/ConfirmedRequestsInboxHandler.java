@@ -0,0 +1,30 @@
+package event.service;
+
+import dto.request.ConfirmedRequestsUpdateDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import outbox.InboxHandler;
+import outbox.MessageTypes;
+
+import java.util.Arrays;
+
+@Component
+@RequiredArgsConstructor
+public class ConfirmedRequestsInboxHandler implements InboxHandler<ConfirmedRequestsUpdateDto[]> {
+    private final EventStatsService eventStatsService;
+
+    @Override
+    public String type() {
+        return MessageTypes.CONFIRMED_REQUESTS_CHANGED;
+    }
+
+    @Override
+    public Class<ConfirmedRequestsUpdateDto[]> payloadType() {
+        return ConfirmedRequestsUpdateDto[].class;
+    }
+
+    @Override
+    public void handle(ConfirmedRequestsUpdateDto[] payload) {
+        eventStatsService.updateConfirmedRequests(Arrays.asList(payload));
+    }
+}
@@ -0,0 +1,7 @@
+package event.service;
+
+/**
+ * Публикуется при изменении события: название, аннотация, дата, состояние и т.п.
+ */
+public record EventChangedEvent(Long eventId) {
+}
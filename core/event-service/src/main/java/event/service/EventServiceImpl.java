@@ -4,16 +4,20 @@ import dto.event.*;
 import dto.user.UserShortDto;
 import event.persistence.model.Event;
 import event.persistence.model.EventState;
+import enums.EventSort;
 import enums.StateAction;
 import event.persistence.mapper.EventMapper;
+import event.persistence.repository.EventCursor;
 import event.persistence.repository.EventRepository;
+import event.persistence.repository.EventShortRow;
 import event.persistence.repository.specification.EventSpecifications;
+import event.persistence.search.EventSearchQuery;
 import feign.user.UserClient;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,10 +25,8 @@ import util.exception.NotFoundException;
 import event.validation.EventValidationUtils;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -36,14 +38,18 @@ public class EventServiceImpl implements EventService {
     private final EventMapper eventMapper;
     private final UserClient userClient;
     private final EventStatsService eventStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${event-search.full-text.enabled:true}")
+    private boolean fullTextSearchEnabled;
 
     @Override
     @Transactional(readOnly = true)
     public List<EventShortDto> getEvents(Long userId, Pageable pageable) {
         userClient.getById(userId);
-        Page<Event> eventsPage = eventRepository.findAllByInitiatorOrderByCreatedAtDesc(userId, pageable);
+        List<EventShortRow> rows = eventRepository.findShortRowsByInitiator(userId, pageable).getContent();
 
-        return eventStatsService.enrichEventsShortDtoBatch(eventsPage.getContent(), eventMapper);
+        return eventStatsService.enrichShortRowsBatch(rows, eventMapper);
     }
 
     @Override
@@ -93,23 +99,41 @@ public class EventServiceImpl implements EventService {
         updateEventState(event, request);
 
         Event updatedEvent = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(eventId));
         return eventStatsService.enrichEventFullDto(updatedEvent, eventMapper);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<EventShortDto> getPublicEvents(PublicEventSearchRequest requestParams, Pageable pageable, String ip) {
+    public EventSlice<EventShortDto> getPublicEvents(PublicEventSearchRequest requestParams, Pageable pageable,
+                                                     String ip) {
 
         EventValidationUtils.validateDateRange(requestParams.getRangeStart(), requestParams.getRangeEnd());
 
         Specification<Event> spec = buildPublicEventsSpecification(requestParams);
 
-        List<Event> events = eventRepository.findAll(spec, pageable).getContent();
-        List<EventShortDto> result = eventStatsService.enrichEventsShortDtoBatch(events, eventMapper);
+        String tsQuery = fullTextQuery(requestParams.getText());
+        List<EventShortRow> events;
+        String nextCursor = null;
+        if (EventSort.VIEWS.name().equals(requestParams.getSort())) {
+            rejectCursor(requestParams, "просмотрам");
+            events = eventRepository.findShortSliceByViews(spec, pageable).getContent();
+        } else if (EventSort.RELEVANCE.name().equals(requestParams.getSort()) && tsQuery != null) {
+            rejectCursor(requestParams, "релевантности");
+            events = eventRepository.findShortSliceByRelevance(spec, tsQuery, pageable).getContent();
+        } else {
+            EventCursor cursor = requestParams.getCursor() != null ? EventCursor.decode(requestParams.getCursor()) : null;
+            Slice<EventShortRow> slice = eventRepository.findShortSliceByEventDate(spec, cursor, pageable);
+            events = slice.getContent();
+            if (slice.hasNext()) {
+                nextCursor = EventCursor.of(events.getLast()).encode();
+            }
+        }
+        List<EventShortDto> result = eventStatsService.enrichShortRowsBatch(events, eventMapper);
 
         eventStatsService.recordHit(ENDPOINT, ip);
 
-        return sortEvents(result, requestParams.getSort());
+        return new EventSlice<>(result, nextCursor);
     }
 
     @Override
@@ -140,7 +164,12 @@ public class EventServiceImpl implements EventService {
         Specification<Event> spec = Specification.where(EventSpecifications.isPublished());
 
         if (params.getText() != null && !params.getText().trim().isEmpty()) {
-            spec = spec.and(EventSpecifications.containsText(params.getText()));
+            String tsQuery = fullTextQuery(params.getText());
+            if (!fullTextSearchEnabled) {
+                spec = spec.and(EventSpecifications.containsText(params.getText()));
+            } else if (tsQuery != null) {
+                spec = spec.and(EventSpecifications.matchesText(tsQuery));
+            }
         }
 
         if (params.getCategories() != null && !params.getCategories().isEmpty()) {
@@ -166,28 +195,24 @@ public class EventServiceImpl implements EventService {
             spec = spec.and(EventSpecifications.hasAvailableSlots());
         }
 
+        if (params.getLat() != null || params.getLon() != null || params.getRadius() != null) {
+            if (params.getLat() == null || params.getLon() == null || params.getRadius() == null) {
+                throw new IllegalArgumentException("Для поиска по месту нужны все параметры: lat, lon и radius");
+            }
+            spec = spec.and(EventSpecifications.withinRadius(params.getLat(), params.getLon(), params.getRadius()));
+        }
+
         return spec;
     }
 
-    private Pageable createPageable(Integer from, Integer size, String sort) {
-        int pageSize = size != null ? Math.max(1, size) : 10;
-        int pageFrom = from != null ? Math.max(0, from) : 0;
-        int page = pageFrom / pageSize;
-
-        Sort sorting = "VIEWS".equals(sort) ?
-                Sort.by(Sort.Direction.DESC, "id") :
-                Sort.by(Sort.Direction.DESC, "eventDate");
-
-        return PageRequest.of(page, pageSize, sorting);
+    private String fullTextQuery(String text) {
+        return fullTextSearchEnabled && text != null ? EventSearchQuery.toPrefixQuery(text) : null;
     }
 
-    private List<EventShortDto> sortEvents(List<EventShortDto> events, String sort) {
-        if ("VIEWS".equals(sort)) {
-            return events.stream()
-                    .sorted(Comparator.comparing(EventShortDto::getViews).reversed())
-                    .collect(Collectors.toList());
+    private void rejectCursor(PublicEventSearchRequest params, String sort) {
+        if (params.getCursor() != null) {
+            throw new IllegalArgumentException("Курсор не поддерживается при сортировке по " + sort);
         }
-        return events;
     }
 
     private void updateEventState(Event event, UpdateEventUserRequest request) {
@@ -0,0 +1,14 @@
+package event.service;
+
+import java.util.List;
+
+/**
+ * Страница выдачи и курсор следующей страницы; {@code nextCursor} равен {@code null}, если страница последняя.
+ * {@code total} заполняется, только если общее число было запрошено явно.
+ */
+public record EventSlice<T>(List<T> content, String nextCursor, Long total) {
+
+    public EventSlice(List<T> content, String nextCursor) {
+        this(content, nextCursor, null);
+    }
+}
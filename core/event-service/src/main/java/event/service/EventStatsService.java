@@ -3,22 +3,32 @@ package event.service;
 import client.StatsClient;
 import dto.event.EventFullDto;
 import dto.event.EventShortDto;
-import dto.request.EventConfirmedRequestsDto;
+import dto.request.ConfirmedRequestsUpdateDto;
 import dto.user.UserShortDto;
 import event.persistence.model.Event;
 import event.persistence.mapper.EventMapper;
 import event.persistence.repository.EventRepository;
-import feign.request.RequestClient;
+import event.persistence.repository.EventShortRow;
 import feign.user.UserClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import model.EndpointHitDto;
 import model.ViewStatsDto;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,26 +39,44 @@ public class EventStatsService {
     private static final String APP_NAME = "ewm-main-service";
 
     private final StatsClient statsClient;
-    private final RequestClient requestClient;
     private final UserClient userClient;
     private final EventRepository eventRepository;
-
-    public Map<Long, Long> getViewsForEventsBatch(List<Long> eventIds) {
-        if (eventIds.isEmpty()) {
+    private final EventViewsCache eventViewsCache;
+    private final ExecutorService enrichmentExecutor;
+
+    @Value("${event-enrichment.timeout-ms:3000}")
+    private long enrichmentTimeoutMs;
+
+    /**
+     * Просмотры событий по их id и моменту создания: окно статистики начинается с самого раннего
+     * создания среди событий, которых нет в кэше, поэтому дополнительный запрос в БД не нужен.
+     */
+    public Map<Long, Long> getViewsForEventsBatch(Map<Long, LocalDateTime> createdAt) {
+        if (createdAt.isEmpty()) {
             return Map.of();
         }
 
+        return eventViewsCache.getViews(List.copyOf(createdAt.keySet()), ids -> loadViews(ids, createdAt));
+    }
+
+    private Map<Long, Long> loadViews(List<Long> eventIds, Map<Long, LocalDateTime> createdAt) {
+        Map<Long, Long> viewsMap = eventIds.stream()
+                .collect(Collectors.toMap(id -> id, id -> 0L, (a, b) -> a));
+
+        // Просмотры не могут быть раньше создания самого старого из запрошенных событий
+        Optional<LocalDateTime> start = eventIds.stream()
+                .map(createdAt::get)
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder());
+        if (start.isEmpty()) {
+            return viewsMap;
+        }
+
         List<String> uris = eventIds.stream()
                 .map(id -> ENDPOINT + "/" + id)
                 .collect(Collectors.toList());
 
-        LocalDateTime start = eventRepository.findFirstByOrderByCreatedAtAsc().getCreatedAt();
-        LocalDateTime end = LocalDateTime.now();
-
-        List<ViewStatsDto> stats = statsClient.getStats(start, end, uris, true);
-
-        Map<Long, Long> viewsMap = eventIds.stream()
-                .collect(Collectors.toMap(id -> id, id -> 0L));
+        List<ViewStatsDto> stats = statsClient.getStats(start.get(), LocalDateTime.now(), uris, true);
 
         if (stats != null) {
             stats.forEach(stat -> {
@@ -77,56 +105,36 @@ public class EventStatsService {
             return Map.of();
         }
 
-        List<EventConfirmedRequestsDto> results = requestClient.getRequestsByEventIds(eventIds);
-
         Map<Long, Long> confirmedRequestsMap = eventIds.stream()
-                .collect(Collectors.toMap(id -> id, id -> 0L));
-
-        results.forEach(dto -> confirmedRequestsMap.put(dto.getEventId(), dto.getConfirmedCount()));
-
-        log.debug("Получены подтвержденные запросы для {} событий", results.size());
+                .collect(Collectors.toMap(id -> id, id -> 0L, (a, b) -> a));
+        eventRepository.findConfirmedRequestsByIds(eventIds)
+                .forEach(dto -> confirmedRequestsMap.put(dto.getEventId(), dto.getConfirmedCount()));
         return confirmedRequestsMap;
     }
 
-    public EventFullDto enrichEventFullDto(Event event, EventMapper eventMapper) {
-        UserShortDto user = userClient.getById(event.getInitiator());
-        EventFullDto dto = eventMapper.toFullDto(event, user);
-        Map<Long, Long> confirmedRequests = getConfirmedRequestsBatch(List.of(event.getId()));
-        Map<Long, Long> views = getViewsForEventsBatch(List.of(event.getId()));
+    /**
+     * Применяет счётчики, присланные request-service. Устаревшие значения отбрасываются по {@code asOf}.
+     */
+    @Transactional
+    public void updateConfirmedRequests(List<ConfirmedRequestsUpdateDto> updates) {
+        int applied = 0;
+        for (ConfirmedRequestsUpdateDto update : updates) {
+            applied += eventRepository.updateConfirmedRequests(
+                    update.getEventId(), update.getConfirmedCount(), update.getAsOf());
+        }
+        log.debug("Обновлены счётчики подтверждённых заявок: получено {}, применено {}", updates.size(), applied);
+    }
 
-        dto.setConfirmedRequests(confirmedRequests.getOrDefault(event.getId(), 0L));
-        dto.setViews(views.getOrDefault(event.getId(), 0L));
-        return dto;
+    public EventFullDto enrichEventFullDto(Event event, EventMapper eventMapper) {
+        return enrichEventsFullDtoBatch(List.of(event), eventMapper).getFirst();
     }
 
     public List<EventFullDto> enrichEventsFullDto(Iterable<Long> ids, EventMapper eventMapper) {
-        List<Event> events = eventRepository.findAllById(ids);
-        Map<Long, UserShortDto> users = userClient.getByIds(
-                events.stream().map(Event::getInitiator).toList()
-        );
-
-        Map<Long, Long> confirmedRequests = getConfirmedRequestsBatch((List<Long>) ids);
-        Map<Long, Long> views = getViewsForEventsBatch((List<Long>) ids);
-
-        return events.stream()
-                .map(event -> {
-                    EventFullDto dto = eventMapper.toFullDto(event, users.get(event.getInitiator()));
-                    dto.setViews(views.getOrDefault(event.getId(), 0L));
-                    dto.setConfirmedRequests(confirmedRequests.getOrDefault(event.getId(), 0L));
-                    return dto;
-                })
-                .toList();
+        return enrichEventsFullDtoBatch(eventRepository.findAllById(ids), eventMapper);
     }
 
     public EventShortDto enrichEventShortDto(Event event, EventMapper eventMapper) {
-        UserShortDto user = userClient.getById(event.getInitiator());
-        EventShortDto dto = eventMapper.toShortDto(event, user);
-        Map<Long, Long> confirmedRequests = getConfirmedRequestsBatch(List.of(event.getId()));
-        Map<Long, Long> views = getViewsForEventsBatch(List.of(event.getId()));
-
-        dto.setConfirmedRequests(confirmedRequests.getOrDefault(event.getId(), 0L));
-        dto.setViews(views.getOrDefault(event.getId(), 0L));
-        return dto;
+        return enrichEventsShortDtoBatch(List.of(event), eventMapper).getFirst();
     }
 
     private Long extractEventIdFromUri(String uri) {
@@ -142,19 +150,13 @@ public class EventStatsService {
             return List.of();
         }
 
-        List<Long> eventIds = events.stream()
-                .map(Event::getId)
-                .collect(Collectors.toList());
-
-        Map<Long, Long> confirmedRequestsMap = getConfirmedRequestsBatch(eventIds);
-        Map<Long, Long> viewsMap = getViewsForEventsBatch(eventIds);
+        Enrichment enrichment = fetchEnrichment(events);
 
         return events.stream()
                 .map(event -> {
-                    UserShortDto user = userClient.getById(event.getInitiator());
-                    EventFullDto dto = eventMapper.toFullDto(event, user);
-                    dto.setConfirmedRequests(confirmedRequestsMap.getOrDefault(event.getId(), 0L));
-                    dto.setViews(viewsMap.getOrDefault(event.getId(), 0L));
+                    EventFullDto dto = eventMapper.toFullDto(event, enrichment.initiator(event.getInitiator()));
+                    dto.setConfirmedRequests(enrichment.confirmedRequests().getOrDefault(event.getId(), 0L));
+                    dto.setViews(enrichment.views().getOrDefault(event.getId(), 0L));
                     return dto;
                 })
                 .collect(Collectors.toList());
@@ -166,21 +168,137 @@ public class EventStatsService {
             return List.of();
         }
 
-        List<Long> eventIds = events.stream()
-                .map(Event::getId)
-                .collect(Collectors.toList());
-
-        Map<Long, Long> confirmedRequestsMap = getConfirmedRequestsBatch(eventIds);
-        Map<Long, Long> viewsMap = getViewsForEventsBatch(eventIds);
+        Enrichment enrichment = fetchEnrichment(events);
 
         return events.stream()
                 .map(event -> {
-                    UserShortDto user = userClient.getById(event.getInitiator());
-                    EventShortDto dto = eventMapper.toShortDto(event, user);
-                    dto.setConfirmedRequests(confirmedRequestsMap.getOrDefault(event.getId(), 0L));
-                    dto.setViews(viewsMap.getOrDefault(event.getId(), 0L));
+                    EventShortDto dto = eventMapper.toShortDto(event, enrichment.initiator(event.getInitiator()));
+                    dto.setConfirmedRequests(enrichment.confirmedRequests().getOrDefault(event.getId(), 0L));
+                    dto.setViews(enrichment.views().getOrDefault(event.getId(), 0L));
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Обогащение строк краткого представления: подтверждённые заявки уже есть в строке, описание не загружается.
+     */
+    public List<EventShortDto> enrichShortRowsBatch(List<EventShortRow> rows, EventMapper eventMapper) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, LocalDateTime> createdAt = new HashMap<>();
+        rows.forEach(row -> createdAt.put(row.id(), row.createdAt()));
+        Enrichment enrichment = fetchEnrichment(
+                createdAt,
+                rows.stream().map(EventShortRow::initiator).toList(),
+                rows.stream().collect(Collectors.toMap(EventShortRow::id,
+                        row -> row.confirmedRequests() != null ? row.confirmedRequests() : 0L, (a, b) -> a)));
+
+        return rows.stream()
+                .map(row -> {
+                    EventShortDto dto = eventMapper.toShortDto(row, enrichment.initiator(row.initiator()));
+                    dto.setConfirmedRequests(enrichment.confirmedRequests().getOrDefault(row.id(), 0L));
+                    dto.setViews(enrichment.views().getOrDefault(row.id(), 0L));
                     return dto;
                 })
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    /**
+     * Маппинг событий с инициаторами, но без счётчиков: их накладывает {@link #applyCounters}.
+     */
+    public List<EventShortDto> toShortDtosWithoutCounters(List<Event> events, EventMapper eventMapper) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, UserShortDto> users = getInitiatorsBatch(events.stream().map(Event::getInitiator).toList());
+        return events.stream()
+                .map(event -> eventMapper.toShortDto(event, users.getOrDefault(event.getInitiator(),
+                        UserShortDto.builder().id(event.getInitiator()).build())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param createdAt момент создания каждого события из {@code dtos}, задаёт окно запроса просмотров
+     */
+    public void applyCounters(List<EventShortDto> dtos, Map<Long, LocalDateTime> createdAt) {
+        if (dtos.isEmpty()) {
+            return;
+        }
+
+        List<Long> eventIds = dtos.stream()
+                .map(EventShortDto::getId)
+                .distinct()
+                .toList();
+        Map<Long, LocalDateTime> windows = new HashMap<>();
+        eventIds.forEach(id -> windows.put(id, createdAt.get(id)));
+        CompletableFuture<Map<Long, Long>> views =
+                fetchAsync("просмотры", () -> getViewsForEventsBatch(windows));
+
+        Map<Long, Long> confirmedRequestsMap = getConfirmedRequestsBatch(eventIds);
+        Map<Long, Long> viewsMap = views.join();
+        dtos.forEach(dto -> {
+            dto.setConfirmedRequests(confirmedRequestsMap.getOrDefault(dto.getId(), 0L));
+            dto.setViews(viewsMap.getOrDefault(dto.getId(), 0L));
+        });
+    }
+
+    private Map<Long, UserShortDto> getInitiatorsBatch(List<Long> initiatorIds) {
+        List<Long> userIds = initiatorIds.stream()
+                .distinct()
+                .toList();
+
+        return userIds.isEmpty() ? Map.of() : userClient.getByIds(userIds);
+    }
+
+    private Enrichment fetchEnrichment(List<Event> events) {
+        Map<Long, LocalDateTime> createdAt = new HashMap<>();
+        events.forEach(event -> createdAt.put(event.getId(), event.getCreatedAt()));
+        return fetchEnrichment(
+                createdAt,
+                events.stream().map(Event::getInitiator).toList(),
+                events.stream().collect(Collectors.toMap(Event::getId, Event::getConfirmedRequests, (a, b) -> a)));
+    }
+
+    /**
+     * Запрашивает инициаторов и просмотры параллельно, подтверждённые заявки берутся из самих событий.
+     * Если вызов не уложился в таймаут или упал, вместо его результата подставляется заглушка:
+     * пользователь только с id, нулевые счётчики.
+     */
+    private Enrichment fetchEnrichment(Map<Long, LocalDateTime> createdAt, List<Long> initiatorIds,
+                                       Map<Long, Long> confirmedRequests) {
+        CompletableFuture<Map<Long, UserShortDto>> users =
+                fetchAsync("пользователи", () -> getInitiatorsBatch(initiatorIds));
+        CompletableFuture<Map<Long, Long>> views =
+                fetchAsync("просмотры", () -> getViewsForEventsBatch(createdAt));
+
+        return new Enrichment(users.join(), confirmedRequests, views.join());
+    }
+
+    private <T> CompletableFuture<Map<Long, T>> fetchAsync(String name, Supplier<Map<Long, T>> call) {
+        return CompletableFuture.supplyAsync(call, enrichmentExecutor)
+                .completeOnTimeout(null, enrichmentTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    log.warn("Не удалось получить {} для событий: {}", name, e.getMessage());
+                    return Map.of();
+                })
+                .thenApply(result -> {
+                    if (result == null) {
+                        log.warn("Превышено время ожидания ответа ({} мс): {}", enrichmentTimeoutMs, name);
+                        return Map.of();
+                    }
+                    return result;
+                });
+    }
+
+    private record Enrichment(Map<Long, UserShortDto> users,
+                              Map<Long, Long> confirmedRequests,
+                              Map<Long, Long> views) {
+        UserShortDto initiator(Long userId) {
+            return users.getOrDefault(userId, UserShortDto.builder().id(userId).build());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package event.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Локальный кэш просмотров событий.
+ * Значение младше {@code refresh-after-ms} отдаётся как есть, более старое — отдаётся и обновляется в фоне,
+ * старше {@code expire-after-ms} — загружается заново. Одновременные промахи по одним и тем же id
+ * объединяются в один запрос к сервису статистики.
+ */
+@Component
+@Slf4j
+public class EventViewsCache {
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<Long>> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService refreshExecutor = Executors.newFixedThreadPool(2,
+            Thread.ofPlatform().name("event-views-refresh-", 0).daemon().factory());
+
+    @Value("${event-views-cache.refresh-after-ms:2000}")
+    private long refreshAfterMs;
+
+    @Value("${event-views-cache.expire-after-ms:10000}")
+    private long expireAfterMs;
+
+    @Value("${event-views-cache.max-size:50000}")
+    private int maxSize;
+
+    public Map<Long, Long> getViews(List<Long> eventIds, Function<List<Long>, Map<Long, Long>> loader) {
+        long now = System.currentTimeMillis();
+        Map<Long, Long> result = new HashMap<>();
+        Map<Long, CompletableFuture<Long>> pending = new HashMap<>();
+        List<Long> toLoad = new ArrayList<>();
+        List<Long> toRefresh = new ArrayList<>();
+
+        for (Long id : eventIds) {
+            Entry entry = entries.get(id);
+            if (entry != null && now - entry.loadedAt() < expireAfterMs) {
+                result.put(id, entry.views());
+                if (now - entry.loadedAt() >= refreshAfterMs && claim(id) != null) {
+                    toRefresh.add(id);
+                }
+                continue;
+            }
+
+            CompletableFuture<Long> own = new CompletableFuture<>();
+            CompletableFuture<Long> existing = inFlight.putIfAbsent(id, own);
+            if (existing == null) {
+                toLoad.add(id);
+                pending.put(id, own);
+            } else {
+                pending.put(id, existing);
+            }
+        }
+
+        if (!toLoad.isEmpty()) {
+            load(toLoad, loader);
+        }
+        if (!toRefresh.isEmpty()) {
+            refreshExecutor.execute(() -> load(toRefresh, loader));
+        }
+
+        pending.forEach((id, future) -> result.put(id, future.join()));
+        return result;
+    }
+
+    public void evict(Long eventId) {
+        entries.remove(eventId);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private CompletableFuture<Long> claim(Long id) {
+        CompletableFuture<Long> own = new CompletableFuture<>();
+        return inFlight.putIfAbsent(id, own) == null ? own : null;
+    }
+
+    private void load(List<Long> ids, Function<List<Long>, Map<Long, Long>> loader) {
+        Map<Long, Long> views = null;
+        try {
+            views = loader.apply(ids);
+        } catch (Exception e) {
+            log.warn("Не удалось загрузить просмотры для {} событий: {}", ids.size(), e.getMessage());
+        }
+
+        long loadedAt = System.currentTimeMillis();
+        for (Long id : ids) {
+            Entry previous = entries.get(id);
+            long value;
+            if (views != null) {
+                value = views.getOrDefault(id, 0L);
+                entries.put(id, new Entry(value, loadedAt));
+            } else {
+                // При ошибке отдаём последнее известное значение и не кэшируем результат
+                value = previous != null ? previous.views() : 0L;
+            }
+
+            CompletableFuture<Long> future = inFlight.remove(id);
+            if (future != null) {
+                future.complete(value);
+            }
+        }
+        trim();
+    }
+
+    private void trim() {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> now - entry.loadedAt() >= expireAfterMs);
+        Iterator<Long> iterator = entries.keySet().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private record Entry(long views, long loadedAt) {
+    }
+}
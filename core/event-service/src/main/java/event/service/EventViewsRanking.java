@@ -0,0 +1,107 @@
+package event.service;
+
+import client.StatsClient;
+import event.persistence.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import model.ViewStatsDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Поддерживает колонку {@code events.views}, по которой страница с сортировкой по просмотрам
+ * выбирается одним запросом вместе с остальными условиями поиска.
+ * После запуска просмотры загружаются один раз целиком, дальше пересчёт инкрементальный:
+ * по окну с прошлого пересчёта (с запасом {@code refresh-overlap-ms} на запоздавшие хиты) выясняется,
+ * у каких событий были просмотры, и только для них запрашиваются уникальные просмотры
+ * с начала истории, запомненного при полной загрузке.
+ * Момент прошлого пересчёта сдвигается только после успешной загрузки и записи: при недоступном
+ * сервере статистики следующий запуск повторит полную загрузку или расширит окно.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventViewsRanking {
+    private static final String ENDPOINT = "/events/";
+
+    private final EventRepository eventRepository;
+    private final StatsClient statsClient;
+
+    @Value("${event-views-ranking.refresh-overlap-ms:60000}")
+    private long refreshOverlapMs;
+
+    private LocalDateTime lastRefresh;
+    private LocalDateTime historyStart;
+
+    @Scheduled(initialDelayString = "${event-views-ranking.initial-delay-ms:0}",
+            fixedDelayString = "${event-views-ranking.refresh-interval-ms:60000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Long> views;
+        try {
+            views = lastRefresh == null ? loadAllViews(now) : loadChangedViews(now);
+        } catch (RuntimeException e) {
+            log.warn("Не удалось получить просмотры для рейтинга, пересчёт будет повторён: {}", e.getMessage());
+            return;
+        }
+
+        if (!views.isEmpty()) {
+            eventRepository.updateViews(views);
+        }
+        lastRefresh = now;
+        log.debug("Просмотры событий для рейтинга обновлены: событий {}", views.size());
+    }
+
+    private Map<Long, Long> loadAllViews(LocalDateTime now) {
+        Optional<LocalDateTime> start = eventRepository.findMinCreatedAt();
+        if (start.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Long> views = toViews(statsClient.getStatsOrThrow(start.get(), now, null, true));
+        historyStart = start.get();
+        return views;
+    }
+
+    /**
+     * Окно уникальных просмотров начинается с самого раннего создания события, известного с полной загрузки:
+     * события, созданные позже, в него попадают, а запрос в БД на каждый пересчёт не нужен.
+     */
+    private Map<Long, Long> loadChangedViews(LocalDateTime now) {
+        LocalDateTime windowStart = lastRefresh.minus(Duration.ofMillis(refreshOverlapMs));
+        List<Long> changed = List.copyOf(toViews(statsClient.getStatsOrThrow(windowStart, now, null, false)).keySet());
+        if (changed.isEmpty()) {
+            return Map.of();
+        }
+
+        List<String> uris = changed.stream()
+                .map(id -> ENDPOINT + id)
+                .toList();
+        return toViews(statsClient.getStatsOrThrow(historyStart != null ? historyStart : windowStart, now, uris, true));
+    }
+
+    private Map<Long, Long> toViews(List<ViewStatsDto> stats) {
+        Map<Long, Long> views = new HashMap<>();
+        if (stats == null) {
+            return views;
+        }
+        for (ViewStatsDto stat : stats) {
+            if (stat.getUri() == null || !stat.getUri().startsWith(ENDPOINT)) {
+                continue;
+            }
+            try {
+                views.put(Long.parseLong(stat.getUri().substring(ENDPOINT.length())), stat.getHits());
+            } catch (NumberFormatException ignored) {
+                // не страница события
+            }
+        }
+        return views;
+    }
+}
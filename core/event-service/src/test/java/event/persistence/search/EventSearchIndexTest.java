@@ -0,0 +1,87 @@
+package event.persistence.search;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверяет по EXPLAIN, что {@code fts_match} читает GIN-индекс {@code idx_events_fts}, тогда как поиск
+ * подстроки через LIKE сканирует таблицу целиком, и что индекс в состоянии INVALID пересоздаётся.
+ * PostgreSQL запускается встроенным процессом.
+ */
+class EventSearchIndexTest {
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+    private static EventSearchIndexInitializer initializer;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+        jdbcTemplate.execute("CREATE TABLE events (" +
+                "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                "annotation VARCHAR(2000) NOT NULL, " +
+                "description VARCHAR(7000) NOT NULL)");
+        jdbcTemplate.update("INSERT INTO events (annotation, description) " +
+                "SELECT 'annotation ' || g || ' concert' || (g % 5000), 'description ' || md5(g::text) " +
+                "FROM generate_series(1, 50000) AS g");
+
+        initializer = new EventSearchIndexInitializer(jdbcTemplate);
+        initializer.createIndex();
+        jdbcTemplate.execute("ANALYZE events");
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void ftsMatchUsesGinIndex() {
+        String match = EventSearchFunctionContributor.MATCH
+                .replace("?1", "annotation")
+                .replace("?2", "description")
+                .replace("?3", "?");
+
+        String plan = explain("SELECT id FROM events WHERE " + match,
+                EventSearchQuery.toPrefixQuery("concert123"));
+
+        assertThat(plan).contains(EventSearchIndexInitializer.INDEX);
+        assertThat(plan).doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void likeSearchScansWholeTable() {
+        String plan = explain("SELECT id FROM events WHERE annotation LIKE ? OR description LIKE ?",
+                "%concert123%", "%concert123%");
+
+        assertThat(plan).contains("Seq Scan");
+    }
+
+    @Test
+    void invalidIndexIsRebuilt() {
+        jdbcTemplate.update("UPDATE pg_index SET indisvalid = false WHERE indexrelid = to_regclass(?)",
+                EventSearchIndexInitializer.INDEX);
+
+        initializer.createIndex();
+
+        Boolean valid = jdbcTemplate.queryForObject(
+                "SELECT indisvalid FROM pg_index WHERE indexrelid = to_regclass(?)",
+                Boolean.class, EventSearchIndexInitializer.INDEX);
+        assertThat(valid).isTrue();
+    }
+
+    private String explain(String sql, Object... args) {
+        List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args);
+        return String.join("\n", lines);
+    }
+}
@@ -0,0 +1,134 @@
+package event.service;
+
+import client.StatsClient;
+import dto.event.EventShortDto;
+import dto.request.EventConfirmedRequestsDto;
+import dto.user.UserShortDto;
+import event.persistence.mapper.EventMapper;
+import event.persistence.model.Event;
+import event.persistence.repository.EventRepository;
+import feign.user.UserClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Число удалённых вызовов на страницу событий не должно зависеть от размера страницы.
+ */
+@ExtendWith(MockitoExtension.class)
+class EventStatsServiceTest {
+    @Mock
+    private StatsClient statsClient;
+
+    @Mock
+    private UserClient userClient;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private EventViewsCache eventViewsCache;
+
+    private ExecutorService enrichmentExecutor;
+    private EventStatsService eventStatsService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        enrichmentExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        eventStatsService = new EventStatsService(statsClient, userClient, eventRepository, eventViewsCache,
+                enrichmentExecutor);
+        ReflectionTestUtils.setField(eventStatsService, "enrichmentTimeoutMs", 5000L);
+
+        lenient().when(eventViewsCache.getViews(anyList(), any()))
+                .thenAnswer(invocation -> ((Function<List<Long>, Map<Long, Long>>) invocation.getArgument(1))
+                        .apply(invocation.getArgument(0)));
+        lenient().when(statsClient.getStats(any(), any(), anyList(), anyBoolean())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        enrichmentExecutor.shutdownNow();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void enrichPageMakesOneUserAndOneStatsCall(int pageSize) {
+        List<Event> events = events(pageSize);
+        when(userClient.getByIds(anyList())).thenAnswer(invocation -> users(invocation.getArgument(0)));
+
+        List<EventShortDto> result = eventStatsService.enrichEventsShortDtoBatch(events, EventMapper.INSTANCE);
+
+        assertThat(result).hasSize(pageSize);
+        verify(userClient, times(1)).getByIds(anyList());
+        verify(userClient, never()).getById(anyLong());
+        verify(statsClient, times(1)).getStats(any(), any(), anyList(), anyBoolean());
+        verify(eventRepository, never()).findConfirmedRequestsByIds(anyList());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    @SuppressWarnings("unchecked")
+    void applyCountersMakesOneStatsAndOneConfirmedCall(int pageSize) {
+        List<EventShortDto> dtos = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> EventShortDto.builder().id(id).build())
+                .toList();
+        when(eventRepository.findConfirmedRequestsByIds(anyList())).thenAnswer(invocation ->
+                ((List<Long>) invocation.getArgument(0)).stream()
+                        .map(id -> new EventConfirmedRequestsDto(id, 2L))
+                        .toList());
+
+        Map<Long, LocalDateTime> createdAt = dtos.stream()
+                .collect(Collectors.toMap(EventShortDto::getId, dto -> LocalDateTime.now().minusDays(1)));
+
+        eventStatsService.applyCounters(dtos, createdAt);
+
+        assertThat(dtos).allSatisfy(dto -> assertThat(dto.getConfirmedRequests()).isEqualTo(2L));
+        verify(statsClient, times(1)).getStats(any(), any(), anyList(), anyBoolean());
+        verify(eventRepository, times(1)).findConfirmedRequestsByIds(anyList());
+    }
+
+    private static List<Event> events(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> Event.builder()
+                        .id(id)
+                        .title("title " + id)
+                        .annotation("annotation " + id)
+                        .initiator(id % 3 + 1)
+                        .eventDate(LocalDateTime.now().plusDays(1))
+                        .createdAt(LocalDateTime.now().minusDays(1))
+                        .confirmedRequests(0L)
+                        .build())
+                .toList();
+    }
+
+    private static Map<Long, UserShortDto> users(List<Long> ids) {
+        return ids.stream()
+                .collect(Collectors.toMap(Function.identity(), id -> UserShortDto.builder().id(id).build()));
+    }
+}
@@ -29,4 +29,15 @@ public class AdminEventSearchRequest {
 
     @Builder.Default
     private Integer size = 10;
+
+    /**
+     * Курсор из заголовка {@code X-Next-Cursor} предыдущей страницы; если задан, {@code from} не учитывается.
+     */
+    private String cursor;
+
+    /**
+     * Посчитать общее число найденных событий и вернуть его в заголовке {@code X-Total-Count}.
+     */
+    @Builder.Default
+    private Boolean withTotal = false;
 }
\ No newline at end of file
@@ -1,6 +1,10 @@
 package dto.event;
 
 import enums.EventSort;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -31,9 +35,24 @@ public class PublicEventSearchRequest {
 
     private Boolean onlyAvailable;
 
+    @DecimalMin("-90")
+    @DecimalMax("90")
+    private Double lat;
+
+    @DecimalMin("-180")
+    @DecimalMax("180")
+    private Double lon;
+
+    /**
+     * Радиус поиска вокруг {@code lat}, {@code lon} в километрах.
+     */
+    @Positive
+    @Max(2000)
+    private Double radius;
+
     @ValidEnum(
             enumClass = EventSort.class,
-            values = { "EVENT_DATE", "VIEWS" },
+            values = { "EVENT_DATE", "VIEWS", "RELEVANCE" },
             message = "Недопустимое значение. Допустимые: {accepted}"
     )
     private String sort;
@@ -43,4 +62,9 @@ public class PublicEventSearchRequest {
 
     @Builder.Default
     private Integer size = 10;
+
+    /**
+     * Курсор из заголовка {@code X-Next-Cursor} предыдущей страницы; если задан, {@code from} не учитывается.
+     */
+    private String cursor;
 }
\ No newline at end of file
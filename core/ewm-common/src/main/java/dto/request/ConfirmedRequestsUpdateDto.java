@@ -0,0 +1,22 @@
+package dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Абсолютное число подтверждённых заявок события на момент {@code asOf}.
+ * Повторная доставка и доставка не по порядку безопасны: старые значения игнорируются.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfirmedRequestsUpdateDto {
+    private Long eventId;
+    private Long confirmedCount;
+    private LocalDateTime asOf;
+}
@@ -0,0 +1,143 @@
+package feign;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Объединяет одиночные запросы по ключу, пришедшие в течение короткого окна, в один пакетный вызов.
+ * Одинаковые ключи внутри окна запрашиваются один раз. Первый поток, открывший окно, ждёт его окончания
+ * и выполняет пакетный вызов сам, остальные ждут результата; при наборе {@code maxBatchSize} ключей
+ * пакет отправляется сразу. Если кроме открывшего окно потока в загрузчике никого нет, ждать некого:
+ * пакет отправляется без ожидания, и одиночный запрос не платит задержкой окна.
+ */
+@Slf4j
+public class BatchLoader<K, V> {
+    private final String name;
+    private final Function<List<K>, Map<K, V>> batchFunction;
+    private final long windowMs;
+    private final int maxBatchSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Batch<K, V> current;
+    private int active;
+
+    public BatchLoader(String name, Function<List<K>, Map<K, V>> batchFunction, long windowMs, int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Размер пакета должен быть положительным: " + maxBatchSize);
+        }
+        this.name = name;
+        this.batchFunction = batchFunction;
+        this.windowMs = windowMs;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Значение по ключу или {@code null}, если пакетный вызов его не вернул.
+     */
+    public V load(K key) {
+        Batch<K, V> batch;
+        CompletableFuture<V> future;
+        boolean leader = false;
+        boolean alone = false;
+        boolean dispatchNow = false;
+
+        lock.lock();
+        try {
+            active++;
+            if (current == null) {
+                current = new Batch<>();
+                leader = true;
+                alone = active == 1;
+            }
+            batch = current;
+            future = batch.futures.computeIfAbsent(key, k -> new CompletableFuture<>());
+            if (alone || batch.futures.size() >= maxBatchSize) {
+                current = null;
+                dispatchNow = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            if (dispatchNow) {
+                dispatch(batch);
+            } else if (leader) {
+                awaitWindow();
+                detach(batch);
+                dispatch(batch);
+            }
+            return join(future);
+        } finally {
+            lock.lock();
+            try {
+                active--;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void awaitWindow() {
+        if (windowMs <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(windowMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void detach(Batch<K, V> batch) {
+        lock.lock();
+        try {
+            if (current == batch) {
+                current = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatch(Batch<K, V> batch) {
+        if (!batch.dispatched.compareAndSet(false, true)) {
+            return;
+        }
+
+        List<K> keys = new ArrayList<>(batch.futures.keySet());
+        log.debug("Пакетный запрос {}: {} ключей", name, keys.size());
+        try {
+            Map<K, V> result = batchFunction.apply(keys);
+            batch.futures.forEach((key, future) -> future.complete(result != null ? result.get(key) : null));
+        } catch (RuntimeException e) {
+            batch.futures.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static class Batch<K, V> {
+        private final Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+        private final AtomicBoolean dispatched = new AtomicBoolean();
+    }
+}
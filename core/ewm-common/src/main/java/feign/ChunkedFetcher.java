@@ -0,0 +1,77 @@
+package feign;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Делит большой пакет ключей на части не больше {@code chunkSize} и запрашивает их параллельно
+ * на виртуальных потоках. Пакет из одной части запрашивается в вызывающем потоке.
+ */
+public class ChunkedFetcher {
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final int chunkSize;
+
+    public ChunkedFetcher(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Размер части пакета должен быть положительным: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public <K, V> Map<K, V> fetchMap(List<K> keys, Function<List<K>, Map<K, V>> call) {
+        List<List<K>> chunks = split(keys);
+        if (chunks.size() <= 1) {
+            return chunks.isEmpty() ? Map.of() : call.apply(chunks.getFirst());
+        }
+
+        Map<K, V> result = new HashMap<>();
+        fetchAll(chunks, call).forEach(result::putAll);
+        return result;
+    }
+
+    public <K, V> List<V> fetchList(List<K> keys, Function<List<K>, List<V>> call) {
+        List<List<K>> chunks = split(keys);
+        if (chunks.size() <= 1) {
+            return chunks.isEmpty() ? List.of() : call.apply(chunks.getFirst());
+        }
+
+        List<V> result = new ArrayList<>();
+        fetchAll(chunks, call).forEach(result::addAll);
+        return result;
+    }
+
+    private <K> List<List<K>> split(List<K> keys) {
+        List<K> distinct = keys.stream().distinct().toList();
+        List<List<K>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            chunks.add(distinct.subList(from, Math.min(from + chunkSize, distinct.size())));
+        }
+        return chunks;
+    }
+
+    private <K, R> List<R> fetchAll(List<List<K>> chunks, Function<List<K>, R> call) {
+        List<CompletableFuture<R>> futures = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(() -> call.apply(chunk), EXECUTOR))
+                .toList();
+        try {
+            return futures.stream()
+                    .map(CompletableFuture::join)
+                    .filter(Objects::nonNull)
+                    .toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package feign.event;
+
+import dto.event.EventFullDto;
+import feign.BatchLoader;
+import feign.ChunkedFetcher;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import util.exception.NotFoundException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link EventClient}, в котором одиночные {@code getById} за короткое окно собираются в один {@code getByIds},
+ * а большие пакеты делятся на части, запрашиваемые параллельно.
+ */
+@Component
+@Primary
+public class BatchingEventClient implements EventClient {
+    private final EventClient delegate;
+    private final ChunkedFetcher fetcher;
+    private final BatchLoader<Long, EventFullDto> loader;
+
+    public BatchingEventClient(@Qualifier(EventClient.FEIGN_QUALIFIER) EventClient delegate,
+                               @Value("${feign.batch-loader.window-ms:5}") long windowMs,
+                               @Value("${feign.batch-loader.max-batch-size:100}") int maxBatchSize,
+                              @Value("${feign.batch-loader.chunk-size:500}") int chunkSize) {
+        this.delegate = delegate;
+        this.fetcher = new ChunkedFetcher(chunkSize);
+        this.loader = new BatchLoader<>("events", this::getByIds, windowMs, maxBatchSize);
+    }
+
+    @Override
+    public EventFullDto getById(Long id) {
+        EventFullDto event = loader.load(id);
+        if (event == null) {
+            throw new NotFoundException("Событие с id=" + id + " не найдено");
+        }
+        return event;
+    }
+
+    @Override
+    public Map<Long, EventFullDto> getByIds(List<Long> ids) {
+        return fetcher.fetchMap(ids, delegate::getByIds);
+    }
+
+    @Override
+    public Map<Long, Long> getConfirmedRequestsBatchByEventIds(List<Long> eventIds) {
+        return fetcher.fetchMap(eventIds, delegate::getConfirmedRequestsBatchByEventIds);
+    }
+}
@@ -5,7 +5,10 @@ import org.springframework.cloud.openfeign.FeignClient;
 @FeignClient(
         name = "event-service",
         path = "/api/events",
-        fallback = EventClientFallback.class
+        fallback = EventClientFallback.class,
+        primary = false,
+        qualifiers = EventClient.FEIGN_QUALIFIER
 )
 public interface EventClient extends EventOperations {
+    String FEIGN_QUALIFIER = "eventFeignClient";
 }
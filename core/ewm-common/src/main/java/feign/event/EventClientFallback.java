@@ -5,6 +5,8 @@ import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Component
 public class EventClientFallback implements feign.event.EventClient {
@@ -13,6 +15,13 @@ public class EventClientFallback implements feign.event.EventClient {
         return EventFullDto.builder().id(id).build();
     }
 
+    @Override
+    public Map<Long, EventFullDto> getByIds(List<Long> ids) {
+        return ids.stream()
+                .distinct()
+                .collect(Collectors.toMap(Function.identity(), this::getById));
+    }
+
     @Override
     public Map<Long, Long> getConfirmedRequestsBatchByEventIds(List<Long> eventIds) {
         return Map.of();
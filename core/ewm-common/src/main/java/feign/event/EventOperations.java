@@ -3,7 +3,8 @@ package feign.event;
 import dto.event.EventFullDto;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.List;
 import java.util.Map;
@@ -12,6 +13,9 @@ public interface EventOperations {
     @GetMapping("/{id}")
     EventFullDto getById(@PathVariable("id") Long id);
 
-    @GetMapping("/confirmed")
-    Map<Long, Long> getConfirmedRequestsBatchByEventIds(@RequestParam List<Long> eventIds);
+    @PostMapping("/batch")
+    Map<Long, EventFullDto> getByIds(@RequestBody List<Long> ids);
+
+    @PostMapping("/confirmed")
+    Map<Long, Long> getConfirmedRequestsBatchByEventIds(@RequestBody List<Long> eventIds);
 }
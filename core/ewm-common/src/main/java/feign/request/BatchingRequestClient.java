@@ -0,0 +1,31 @@
+package feign.request;
+
+import dto.request.EventConfirmedRequestsDto;
+import feign.ChunkedFetcher;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@link RequestClient}, который делит большие пакеты событий на части и запрашивает их параллельно.
+ */
+@Component
+@Primary
+public class BatchingRequestClient implements RequestClient {
+    private final RequestClient delegate;
+    private final ChunkedFetcher fetcher;
+
+    public BatchingRequestClient(@Qualifier(RequestClient.FEIGN_QUALIFIER) RequestClient delegate,
+                                 @Value("${feign.batch-loader.chunk-size:500}") int chunkSize) {
+        this.delegate = delegate;
+        this.fetcher = new ChunkedFetcher(chunkSize);
+    }
+
+    @Override
+    public List<EventConfirmedRequestsDto> getRequestsByEventIds(List<Long> eventIds) {
+        return fetcher.fetchList(eventIds, delegate::getRequestsByEventIds);
+    }
+}
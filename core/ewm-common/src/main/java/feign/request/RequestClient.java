@@ -5,7 +5,10 @@ import org.springframework.cloud.openfeign.FeignClient;
 @FeignClient(
         name = "request-service",
         path = "/api/requests",
-        fallback = RequestClientFallback.class
+        fallback = RequestClientFallback.class,
+        primary = false,
+        qualifiers = RequestClient.FEIGN_QUALIFIER
 )
 public interface RequestClient extends RequestOperations {
+    String FEIGN_QUALIFIER = "requestFeignClient";
 }
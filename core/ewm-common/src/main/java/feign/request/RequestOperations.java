@@ -1,12 +1,12 @@
 package feign.request;
 
 import dto.request.EventConfirmedRequestsDto;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.List;
 
 public interface RequestOperations {
-    @GetMapping
-    List<EventConfirmedRequestsDto> getRequestsByEventIds(@RequestParam List<Long> eventIds);
+    @PostMapping("/batch")
+    List<EventConfirmedRequestsDto> getRequestsByEventIds(@RequestBody List<Long> eventIds);
 }
@@ -0,0 +1,52 @@
+package feign.user;
+
+import dto.user.UserShortDto;
+import feign.BatchLoader;
+import feign.ChunkedFetcher;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import util.exception.NotFoundException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link UserClient}, в котором одиночные {@code getById} за короткое окно собираются в один {@code getByIds}.
+ * Большие пакеты делятся на части, запрашиваемые параллельно; ответы проходят через {@link UserShortCache}.
+ */
+@Component
+@Primary
+public class BatchingUserClient implements UserClient {
+    private final UserClient delegate;
+    private final ChunkedFetcher fetcher;
+    private final BatchLoader<Long, UserShortDto> loader;
+    private final UserShortCache cache;
+
+    public BatchingUserClient(@Qualifier(UserClient.FEIGN_QUALIFIER) UserClient delegate,
+                              UserShortCache cache,
+                              @Value("${feign.batch-loader.window-ms:5}") long windowMs,
+                              @Value("${feign.batch-loader.max-batch-size:100}") int maxBatchSize,
+                              @Value("${feign.batch-loader.chunk-size:500}") int chunkSize) {
+        this.delegate = delegate;
+        this.fetcher = new ChunkedFetcher(chunkSize);
+        this.loader = new BatchLoader<>("users", this::fetchByIds, windowMs, maxBatchSize);
+        this.cache = cache;
+    }
+
+    @Override
+    public UserShortDto getById(Long id) {
+        return cache.get(id, loader::load)
+                .orElseThrow(() -> new NotFoundException("Пользователь не найден с id: " + id));
+    }
+
+    @Override
+    public Map<Long, UserShortDto> getByIds(List<Long> ids) {
+        return cache.getAll(ids, this::fetchByIds);
+    }
+
+    private Map<Long, UserShortDto> fetchByIds(List<Long> ids) {
+        return fetcher.fetchMap(ids, delegate::getByIds);
+    }
+}
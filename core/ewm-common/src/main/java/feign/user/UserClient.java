@@ -2,6 +2,7 @@ package feign.user;
 
 import org.springframework.cloud.openfeign.FeignClient;
 
-@FeignClient(name = "user-service", path = "/api/users")
+@FeignClient(name = "user-service", path = "/api/users", primary = false, qualifiers = UserClient.FEIGN_QUALIFIER)
 public interface UserClient extends UserOperations {
+    String FEIGN_QUALIFIER = "userFeignClient";
 }
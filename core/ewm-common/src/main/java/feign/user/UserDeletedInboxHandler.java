@@ -0,0 +1,28 @@
+package feign.user;
+
+import dto.user.UserDeletedDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import outbox.InboxHandler;
+import outbox.MessageTypes;
+
+@Component
+@RequiredArgsConstructor
+public class UserDeletedInboxHandler implements InboxHandler<UserDeletedDto> {
+    private final UserShortCache userShortCache;
+
+    @Override
+    public String type() {
+        return MessageTypes.USER_DELETED;
+    }
+
+    @Override
+    public Class<UserDeletedDto> payloadType() {
+        return UserDeletedDto.class;
+    }
+
+    @Override
+    public void handle(UserDeletedDto payload) {
+        userShortCache.markDeleted(payload.getUserId());
+    }
+}
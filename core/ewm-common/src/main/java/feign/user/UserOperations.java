@@ -3,7 +3,8 @@ package feign.user;
 import dto.user.UserShortDto;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.List;
 import java.util.Map;
@@ -12,6 +13,6 @@ public interface UserOperations {
     @GetMapping("/{id}")
     UserShortDto getById(@PathVariable("id") Long id);
 
-    @GetMapping
-    Map<Long, UserShortDto> getByIds(@RequestParam List<Long> ids);
+    @PostMapping("/batch")
+    Map<Long, UserShortDto> getByIds(@RequestBody List<Long> ids);
 }
@@ -0,0 +1,111 @@
+package feign.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import dto.user.UserShortDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Локальный кэш кратких данных пользователей. Найденные пользователи хранятся {@code ttl-seconds},
+ * отсутствующие (404) — {@code negative-ttl-seconds}. Удалённые пользователи вытесняются по сообщению
+ * {@code USER_DELETED} от user-service. Загруженное значение кладётся, только если ключ всё ещё пуст:
+ * загрузка, начатая до {@code USER_DELETED}, не может вернуть удалённого пользователя в кэш.
+ */
+@Component
+public class UserShortCache {
+    private static final String CACHE_NAME = "user-short";
+
+    private final Cache<Long, Optional<UserShortDto>> cache;
+
+    public UserShortCache(@Value("${user-cache.max-size:10000}") long maxSize,
+                          @Value("${user-cache.ttl-seconds:600}") long ttlSeconds,
+                          @Value("${user-cache.negative-ttl-seconds:30}") long negativeTtlSeconds,
+                          ObjectProvider<MeterRegistry> meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UserExpiry(Duration.ofSeconds(ttlSeconds), Duration.ofSeconds(negativeTtlSeconds)))
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME));
+    }
+
+    /**
+     * Пользователь из кэша или загруженный {@code loader}; пустой результат, если пользователя нет.
+     */
+    public Optional<UserShortDto> get(Long userId, Function<Long, UserShortDto> loader) {
+        Optional<UserShortDto> cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        return putIfAbsent(userId, Optional.ofNullable(loader.apply(userId)));
+    }
+
+    /**
+     * Найденные пользователи; промахи догружаются одним вызовом {@code loader}.
+     */
+    public Map<Long, UserShortDto> getAll(List<Long> userIds,
+                                          Function<List<Long>, Map<Long, UserShortDto>> loader) {
+        Map<Long, UserShortDto> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long userId : userIds) {
+            Optional<UserShortDto> cached = cache.getIfPresent(userId);
+            if (cached == null) {
+                missing.add(userId);
+            } else {
+                cached.ifPresent(user -> result.put(userId, user));
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<Long, UserShortDto> loaded = loader.apply(missing.stream().distinct().toList());
+            for (Long userId : missing) {
+                Optional<UserShortDto> user =
+                        putIfAbsent(userId, Optional.ofNullable(loaded != null ? loaded.get(userId) : null));
+                user.ifPresent(value -> result.put(userId, value));
+            }
+        }
+        return result;
+    }
+
+    public void markDeleted(Long userId) {
+        cache.put(userId, Optional.empty());
+    }
+
+    private Optional<UserShortDto> putIfAbsent(Long userId, Optional<UserShortDto> loaded) {
+        Optional<UserShortDto> existing = cache.asMap().putIfAbsent(userId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private record UserExpiry(Duration ttl, Duration negativeTtl) implements Expiry<Long, Optional<UserShortDto>> {
+        @Override
+        public long expireAfterCreate(Long key, Optional<UserShortDto> value, long currentTime) {
+            return (value.isPresent() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Optional<UserShortDto> value, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Optional<UserShortDto> value, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
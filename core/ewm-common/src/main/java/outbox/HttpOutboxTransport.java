@@ -0,0 +1,31 @@
+package outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.openfeign.FeignClientBuilder;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Доставка в {@code /api/inbox} сервиса-получателя через Feign-клиент с балансировкой по реестру.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.transport", havingValue = "http", matchIfMissing = true)
+@RequiredArgsConstructor
+public class HttpOutboxTransport implements OutboxTransport {
+    private final ApplicationContext applicationContext;
+    private final Map<String, InboxOperations> clients = new ConcurrentHashMap<>();
+
+    @Override
+    public void send(String destination, List<OutboxEnvelope> messages) {
+        clients.computeIfAbsent(destination, name -> new FeignClientBuilder(applicationContext)
+                        .forType(InboxOperations.class, name)
+                        .path("/api/inbox")
+                        .build())
+                .receive(messages);
+    }
+}
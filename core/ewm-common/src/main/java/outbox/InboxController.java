@@ -0,0 +1,19 @@
+package outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/inbox")
+@RequiredArgsConstructor
+public class InboxController implements InboxOperations {
+    private final InboxService inboxService;
+
+    @Override
+    public void receive(List<OutboxEnvelope> messages) {
+        inboxService.receive(messages);
+    }
+}
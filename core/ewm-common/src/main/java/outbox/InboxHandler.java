@@ -0,0 +1,13 @@
+package outbox;
+
+/**
+ * Обработчик входящих сообщений одного типа. Вызывается в той же транзакции,
+ * в которой сообщение отмечается как обработанное.
+ */
+public interface InboxHandler<T> {
+    String type();
+
+    Class<T> payloadType();
+
+    void handle(T payload);
+}
@@ -0,0 +1,33 @@
+package outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Отметка о том, что сообщение уже обработано получателем.
+ */
+@Entity
+@Table(name = "inbox_messages")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class InboxMessage {
+    @Id
+    @Column(name = "message_id", length = 36)
+    private String messageId;
+
+    @Column(nullable = false, length = 100)
+    private String type;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+}
@@ -0,0 +1,23 @@
+package outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface InboxMessageRepository extends JpaRepository<InboxMessage, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO inbox_messages (message_id, type, received_at) " +
+            "VALUES (:messageId, :type, :receivedAt) " +
+            "ON CONFLICT (message_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("messageId") String messageId,
+                       @Param("type") String type,
+                       @Param("receivedAt") LocalDateTime receivedAt);
+
+    @Modifying
+    @Query("DELETE FROM InboxMessage m WHERE m.receivedAt < :before")
+    int deleteReceivedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,11 @@
+package outbox;
+
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
+
+public interface InboxOperations {
+    @PostMapping
+    void receive(@RequestBody List<OutboxEnvelope> messages);
+}
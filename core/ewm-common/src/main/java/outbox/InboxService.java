@@ -0,0 +1,83 @@
+package outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Принимает сообщения из outbox других сервисов. Каждое сообщение обрабатывается в отдельной транзакции
+ * вместе с записью его идентификатора, поэтому повторная доставка не применяется дважды.
+ */
+@Service
+@Slf4j
+public class InboxService {
+    private final InboxMessageRepository inboxMessageRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, InboxHandler<?>> handlers;
+
+    @Value("${outbox.retention-hours:24}")
+    private long retentionHours;
+
+    public InboxService(InboxMessageRepository inboxMessageRepository,
+                        ObjectMapper objectMapper,
+                        PlatformTransactionManager transactionManager,
+                        List<InboxHandler<?>> handlers) {
+        this.inboxMessageRepository = inboxMessageRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.handlers = handlers.stream()
+                .collect(Collectors.toMap(InboxHandler::type, Function.identity()));
+    }
+
+    public void receive(List<OutboxEnvelope> messages) {
+        for (OutboxEnvelope message : messages) {
+            transactionTemplate.executeWithoutResult(status -> process(message));
+        }
+    }
+
+    @Scheduled(cron = "${outbox.cleanup-cron:0 0 * * * *}")
+    public void cleanup() {
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        Integer deleted = transactionTemplate.execute(status -> inboxMessageRepository.deleteReceivedBefore(before));
+        log.debug("Удалено обработанных входящих сообщений: {}", deleted);
+    }
+
+    private void process(OutboxEnvelope message) {
+        if (inboxMessageRepository.insertIfAbsent(message.getMessageId(), message.getType(), LocalDateTime.now()) == 0) {
+            log.debug("Сообщение {} уже обработано, пропускаем", message.getMessageId());
+            return;
+        }
+
+        InboxHandler<?> handler = handlers.get(message.getType());
+        if (handler == null) {
+            log.debug("Нет обработчика для сообщения типа {}", message.getType());
+            return;
+        }
+        dispatch(handler, message);
+    }
+
+    private <T> void dispatch(InboxHandler<T> handler, OutboxEnvelope message) {
+        T payload;
+        try {
+            payload = objectMapper.readValue(message.getPayload(), handler.payloadType());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Не удалось разобрать сообщение " + message.getMessageId() + ": " + e.getMessage(), e);
+        }
+        handler.handle(payload);
+        log.debug("Обработано сообщение {} типа {}", message.getMessageId(), message.getType());
+    }
+}
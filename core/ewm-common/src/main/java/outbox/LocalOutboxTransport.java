@@ -0,0 +1,23 @@
+package outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Брокер внутри процесса: все сообщения доставляются во входящий ящик этого же сервиса,
+ * независимо от адресата. Подходит для локального запуска и отладки обработчиков.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.transport", havingValue = "local")
+@RequiredArgsConstructor
+public class LocalOutboxTransport implements OutboxTransport {
+    private final InboxService inboxService;
+
+    @Override
+    public void send(String destination, List<OutboxEnvelope> messages) {
+        inboxService.receive(messages);
+    }
+}
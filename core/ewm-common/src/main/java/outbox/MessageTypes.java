@@ -0,0 +1,12 @@
+package outbox;
+
+/**
+ * Типы сообщений, которыми сервисы обмениваются через outbox.
+ */
+public final class MessageTypes {
+    public static final String CONFIRMED_REQUESTS_CHANGED = "CONFIRMED_REQUESTS_CHANGED";
+    public static final String USER_DELETED = "USER_DELETED";
+
+    private MessageTypes() {
+    }
+}
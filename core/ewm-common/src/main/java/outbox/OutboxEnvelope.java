@@ -0,0 +1,22 @@
+package outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Сообщение в том виде, в котором оно передаётся получателю.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEnvelope {
+    private String messageId;
+    private String type;
+    private String payload;
+    private LocalDateTime createdAt;
+}
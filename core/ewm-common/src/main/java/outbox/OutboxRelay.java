@@ -0,0 +1,141 @@
+package outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Периодически забирает неотправленные сообщения пачками и отправляет их получателям.
+ * Строки блокируются через {@code FOR UPDATE SKIP LOCKED}, поэтому несколько экземпляров сервиса
+ * не отправляют одно сообщение одновременно. Доставка «как минимум один раз»: дубли отсекает получатель.
+ * Если получатель не принял пачку, сообщения досылаются по одному, чтобы одно отвергнутое сообщение
+ * не задерживало остальные. Неудачная попытка откладывает сообщение с экспоненциально растущей паузой,
+ * после {@code max-attempts} попыток сообщение откладывается насовсем ({@code parked_at}).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final OutboxTransport outboxTransport;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.relay.backoff-initial-ms:1000}")
+    private long backoffInitialMs;
+
+    @Value("${outbox.relay.backoff-max-ms:600000}")
+    private long backoffMaxMs;
+
+    @Value("${outbox.retention-hours:24}")
+    private long retentionHours;
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:1000}")
+    public void relay() {
+        boolean hasMore = true;
+        while (hasMore) {
+            hasMore = Boolean.TRUE.equals(transactionTemplate.execute(status -> relayBatch()));
+        }
+    }
+
+    @Scheduled(cron = "${outbox.cleanup-cron:0 0 * * * *}")
+    public void cleanup() {
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        Integer deleted = transactionTemplate.execute(status -> outboxMessageRepository.deletePublishedBefore(before));
+        log.debug("Удалено отправленных сообщений outbox: {}", deleted);
+    }
+
+    private boolean relayBatch() {
+        List<OutboxMessage> batch = outboxMessageRepository.lockPending(LocalDateTime.now(), batchSize);
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        Map<String, List<OutboxMessage>> byDestination = batch.stream()
+                .collect(Collectors.groupingBy(OutboxMessage::getDestination, LinkedHashMap::new, Collectors.toList()));
+
+        boolean failed = false;
+        for (Map.Entry<String, List<OutboxMessage>> entry : byDestination.entrySet()) {
+            String destination = entry.getKey();
+            List<OutboxMessage> messages = entry.getValue();
+            try {
+                send(destination, messages);
+            } catch (Exception e) {
+                failed = true;
+                log.warn("Не удалось отправить {} сообщений в {}: {}", messages.size(), destination, e.getMessage());
+                if (messages.size() > 1) {
+                    sendOneByOne(destination, messages);
+                } else {
+                    markFailed(messages.getFirst());
+                }
+            }
+        }
+        return !failed && batch.size() == batchSize;
+    }
+
+    /**
+     * Досылает сообщения по одному. Два отказа подряд считаются недоступностью получателя:
+     * оставшиеся сообщения откладываются без отправки.
+     */
+    private void sendOneByOne(String destination, List<OutboxMessage> messages) {
+        int failuresInRow = 0;
+        for (OutboxMessage message : messages) {
+            if (failuresInRow >= 2) {
+                markFailed(message);
+                continue;
+            }
+            try {
+                send(destination, List.of(message));
+                failuresInRow = 0;
+            } catch (Exception e) {
+                failuresInRow++;
+                log.warn("Сообщение {} не принято {}: {}", message.getMessageId(), destination, e.getMessage());
+                markFailed(message);
+            }
+        }
+    }
+
+    private void send(String destination, List<OutboxMessage> messages) {
+        outboxTransport.send(destination, messages.stream().map(OutboxRelay::toEnvelope).toList());
+        LocalDateTime publishedAt = LocalDateTime.now();
+        messages.forEach(message -> message.setPublishedAt(publishedAt));
+    }
+
+    private void markFailed(OutboxMessage message) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        LocalDateTime now = LocalDateTime.now();
+        if (attempts >= maxAttempts) {
+            message.setParkedAt(now);
+            log.error("Сообщение {} типа {} для {} отложено после {} попыток",
+                    message.getMessageId(), message.getType(), message.getDestination(), attempts);
+            return;
+        }
+        long delayMs = backoffInitialMs << Math.min(attempts - 1, 30);
+        message.setNextAttemptAt(now.plus(Duration.ofMillis(Math.min(delayMs, backoffMaxMs))));
+    }
+
+    private static OutboxEnvelope toEnvelope(OutboxMessage message) {
+        return OutboxEnvelope.builder()
+                .messageId(message.getMessageId())
+                .type(message.getType())
+                .payload(message.getPayload())
+                .createdAt(message.getCreatedAt())
+                .build();
+    }
+}
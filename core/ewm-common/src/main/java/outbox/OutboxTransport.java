@@ -0,0 +1,10 @@
+package outbox;
+
+import java.util.List;
+
+/**
+ * Доставка пачки сообщений сервису-получателю. Должна бросить исключение, если пачка не принята целиком.
+ */
+public interface OutboxTransport {
+    void send(String destination, List<OutboxEnvelope> messages);
+}
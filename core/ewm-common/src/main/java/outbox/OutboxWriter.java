@@ -0,0 +1,53 @@
+package outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Записывает сообщения в outbox в транзакции вызывающего кода: сообщение уходит получателям
+ * тогда и только тогда, когда закоммичено изменение состояния, которое оно описывает.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxWriter {
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void write(String destination, String type, Object payload) {
+        write(List.of(destination), type, payload);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void write(List<String> destinations, String type, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Не удалось сериализовать сообщение " + type + ": " + e.getMessage(), e);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> messages = destinations.stream()
+                .map(destination -> OutboxMessage.builder()
+                        .messageId(UUID.randomUUID().toString())
+                        .destination(destination)
+                        .type(type)
+                        .payload(json)
+                        .createdAt(now)
+                        .build())
+                .toList();
+        outboxMessageRepository.saveAll(messages);
+        log.debug("В outbox записано сообщение {} для {}", type, destinations);
+    }
+}
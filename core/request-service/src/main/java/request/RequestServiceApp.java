@@ -2,12 +2,18 @@ package request;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@ComponentScan(basePackages = {"request", "util", "feign.event"})
+@EntityScan(basePackages = {"request", "outbox"})
+@EnableJpaRepositories(basePackages = {"request", "outbox"})
+@ComponentScan(basePackages = {"request", "util", "feign.event", "feign.user", "outbox"})
 @EnableFeignClients(basePackages = {"feign.user", "feign.event"})
+@EnableScheduling
 public class RequestServiceApp {
     public static void main(String[] args) {
         SpringApplication.run(RequestServiceApp.class, args);
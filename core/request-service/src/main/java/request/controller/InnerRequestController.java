@@ -14,8 +14,9 @@ import java.util.List;
 public class InnerRequestController implements RequestOperations {
     private final ParticipationRequestRepository requestRepository;
 
-    @GetMapping
-    public List<EventConfirmedRequestsDto> getRequestsByEventIds(@RequestParam List<Long> eventIds) {
+    @Override
+    @PostMapping("/batch")
+    public List<EventConfirmedRequestsDto> getRequestsByEventIds(@RequestBody List<Long> eventIds) {
         return requestRepository.findConfirmedRequestsCountByEventIds(eventIds);
     }
 }
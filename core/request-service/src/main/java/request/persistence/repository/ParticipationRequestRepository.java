@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import request.persistence.model.ParticipationRequest;
+import request.persistence.model.RequestStatus;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,6 +14,15 @@ public interface ParticipationRequestRepository extends JpaRepository<Participat
 
     boolean existsByEventAndRequester(Long eventId, Long userId);
 
+    long countByEventAndStatus(Long eventId, RequestStatus status);
+
+    /**
+     * Сериализует изменения заявок одного события до конца транзакции:
+     * проверка лимита и подсчёт для outbox видят все ранее закоммиченные изменения.
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:eventId)", nativeQuery = true)
+    Integer lockEvent(@Param("eventId") Long eventId);
+
     @Query("SELECT NEW dto.request.EventConfirmedRequestsDto(" +
             "pr.event, COUNT(pr)) " +
             "FROM ParticipationRequest pr " +
@@ -20,6 +30,12 @@ public interface ParticipationRequestRepository extends JpaRepository<Participat
             "GROUP BY pr.event")
     List<EventConfirmedRequestsDto> findConfirmedRequestsCountByEventIds(@Param("eventIds") List<Long> eventIds);
 
+    @Query("SELECT NEW dto.request.EventConfirmedRequestsDto(" +
+            "pr.event, SUM(CASE WHEN pr.status = request.persistence.model.RequestStatus.CONFIRMED THEN 1L ELSE 0L END)) " +
+            "FROM ParticipationRequest pr " +
+            "GROUP BY pr.event")
+    List<EventConfirmedRequestsDto> countConfirmedRequestsForAllEvents();
+
     @Query("SELECT pr FROM ParticipationRequest pr " +
             "WHERE pr.requester = :userId")
     List<ParticipationRequest> findAllByRequesterIdWithEventAndRequester(@Param("userId") Long userId);
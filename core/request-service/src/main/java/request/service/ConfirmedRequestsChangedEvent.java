@@ -0,0 +1,7 @@
+package request.service;
+
+/**
+ * Публикуется, когда у события могло измениться число подтверждённых заявок.
+ */
+public record ConfirmedRequestsChangedEvent(Long eventId) {
+}
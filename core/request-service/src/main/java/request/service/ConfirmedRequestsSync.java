@@ -0,0 +1,98 @@
+package request.service;
+
+import dto.request.ConfirmedRequestsUpdateDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import outbox.MessageTypes;
+import outbox.OutboxWriter;
+import request.persistence.model.RequestStatus;
+import request.persistence.repository.ParticipationRequestRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Передаёт в event-service абсолютные счётчики подтверждённых заявок через outbox: сообщение пишется
+ * в той же транзакции, что и изменение заявок, и периодически сверкой — на случай ручных правок в БД.
+ * Момент {@code asOf} фиксируется после подсчёта, а сверка считает в одном снимке REPEATABLE READ,
+ * поэтому значение с более поздним {@code asOf} не старше значения с более ранним.
+ * Сверка отправляет счётчики, изменившиеся с прошлой сверки этого экземпляра, и нули для событий,
+ * у которых подтверждённых заявок не осталось. Первая сверка после запуска и каждая
+ * {@code full-resend-every}-я отправляют все счётчики: так чинится расхождение на стороне event-service
+ * (ручная правка, отложенное outbox-сообщение), а повтор безопасен — старые {@code asOf} там игнорируются.
+ */
+@Component
+@Slf4j
+public class ConfirmedRequestsSync {
+    private static final String DESTINATION = "event-service";
+    private static final int CHUNK_SIZE = 500;
+
+    private final ParticipationRequestRepository requestRepository;
+    private final OutboxWriter outboxWriter;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${confirmed-requests-sync.full-resend-every:6}")
+    private int fullResendEvery;
+
+    private Map<Long, Long> reconciled = Map.of();
+    private long runs;
+
+    public ConfirmedRequestsSync(ParticipationRequestRepository requestRepository,
+                                 OutboxWriter outboxWriter,
+                                 PlatformTransactionManager transactionManager) {
+        this.requestRepository = requestRepository;
+        this.outboxWriter = outboxWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onConfirmedRequestsChanged(ConfirmedRequestsChangedEvent event) {
+        long confirmed = requestRepository.countByEventAndStatus(event.eventId(), RequestStatus.CONFIRMED);
+        LocalDateTime asOf = LocalDateTime.now();
+        outboxWriter.write(DESTINATION, MessageTypes.CONFIRMED_REQUESTS_CHANGED,
+                List.of(new ConfirmedRequestsUpdateDto(event.eventId(), confirmed, asOf)));
+    }
+
+    @Scheduled(initialDelayString = "${confirmed-requests-sync.initial-delay-ms:30000}",
+            fixedDelayString = "${confirmed-requests-sync.interval-ms:600000}")
+    public void reconcile() {
+        boolean full = runs++ % Math.max(1, fullResendEvery) == 0;
+        Map<Long, Long> counts = transactionTemplate.execute(status -> {
+            Map<Long, Long> current = new HashMap<>();
+            requestRepository.countConfirmedRequestsForAllEvents()
+                    .forEach(dto -> current.put(dto.getEventId(), dto.getConfirmedCount()));
+            LocalDateTime asOf = LocalDateTime.now();
+
+            List<ConfirmedRequestsUpdateDto> updates = new ArrayList<>();
+            current.forEach((eventId, confirmed) -> {
+                if (full || !Objects.equals(reconciled.get(eventId), confirmed)) {
+                    updates.add(new ConfirmedRequestsUpdateDto(eventId, confirmed, asOf));
+                }
+            });
+            reconciled.keySet().stream()
+                    .filter(eventId -> !current.containsKey(eventId))
+                    .forEach(eventId -> updates.add(new ConfirmedRequestsUpdateDto(eventId, 0L, asOf)));
+
+            for (int from = 0; from < updates.size(); from += CHUNK_SIZE) {
+                outboxWriter.write(DESTINATION, MessageTypes.CONFIRMED_REQUESTS_CHANGED,
+                        updates.subList(from, Math.min(from + CHUNK_SIZE, updates.size())));
+            }
+            log.debug("Сверка счётчиков подтверждённых заявок: событий {}, отправлено {}, полная {}",
+                    current.size(), updates.size(), full);
+            return current;
+        });
+        reconciled = counts;
+    }
+}
@@ -9,6 +9,7 @@ import feign.event.EventClient;
 import feign.user.UserClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import request.persistence.model.ParticipationRequest;
@@ -21,7 +22,6 @@ import util.exception.NotFoundException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,6 +33,7 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
     private final UserClient userClient;
     private final EventClient eventClient;
     private final ParticipationRequestMapper requestMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<ParticipationRequestDto> getUserRequests(Long userId) {
@@ -68,12 +69,12 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
             throw new ConflictException("Нельзя участвовать в неопубликованном событии");
         }
 
+        requestRepository.lockEvent(eventId);
         if (requestRepository.existsByEventAndRequester(eventId, userId)) {
             throw new ConflictException("Запрос на участие в этом событии уже существует");
         }
 
-        Map<Long, Long> confirmedRequestsMap = eventClient.getConfirmedRequestsBatchByEventIds(List.of(eventId));
-        Long confirmedRequests = confirmedRequestsMap.getOrDefault(eventId, 0L);
+        long confirmedRequests = requestRepository.countByEventAndStatus(eventId, RequestStatus.CONFIRMED);
 
         if (event.getParticipantLimit() > 0 && confirmedRequests >= event.getParticipantLimit()) {
             throw new ConflictException("Достигнут лимит участников для этого события");
@@ -95,6 +96,9 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
 
         ParticipationRequest savedRequest = requestRepository.save(request);
         log.info("Запрос создан с id: {}", savedRequest.getId());
+        if (status == RequestStatus.CONFIRMED) {
+            eventPublisher.publishEvent(new ConfirmedRequestsChangedEvent(eventId));
+        }
 
         return requestMapper.toDto(savedRequest);
     }
@@ -134,6 +138,7 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
             throw new ConflictException("Можно установить только статусы CONFIRMED или REJECTED");
         }
 
+        requestRepository.lockEvent(eventId);
         List<ParticipationRequest> requestsToUpdate =
                 requestRepository.findAllByIdWithEventAndRequester(request.getRequestIds());
 
@@ -144,8 +149,7 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
         List<ParticipationRequestDto> confirmedRequests = new ArrayList<>();
         List<ParticipationRequestDto> rejectedRequests = new ArrayList<>();
 
-        Map<Long, Long> confirmedRequestsMap = eventClient.getConfirmedRequestsBatchByEventIds(List.of(eventId));
-        Long currentConfirmedCount = confirmedRequestsMap.getOrDefault(eventId, 0L);
+        long currentConfirmedCount = requestRepository.countByEventAndStatus(eventId, RequestStatus.CONFIRMED);
 
         int participantLimit = event.getParticipantLimit() != null ? event.getParticipantLimit() : 0;
 
@@ -175,6 +179,9 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
         }
 
         requestRepository.saveAll(requestsToUpdate);
+        if (!confirmedRequests.isEmpty()) {
+            eventPublisher.publishEvent(new ConfirmedRequestsChangedEvent(eventId));
+        }
 
         log.info("Обновлено статусов: подтверждено - {}, отклонено - {}",
                 confirmedRequests.size(), rejectedRequests.size());
@@ -192,8 +199,13 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
         ParticipationRequest request = requestRepository.findByIdWithEventAndRequester(requestId, userId)
                 .orElseThrow(() -> new NotFoundException("Запрос с id=" + requestId + " не найден"));
 
+        requestRepository.lockEvent(request.getEvent());
+        boolean wasConfirmed = request.getStatus() == RequestStatus.CONFIRMED;
         request.setStatus(RequestStatus.CANCELED);
         ParticipationRequest updatedRequest = requestRepository.save(request);
+        if (wasConfirmed) {
+            eventPublisher.publishEvent(new ConfirmedRequestsChangedEvent(request.getEvent()));
+        }
 
         return requestMapper.toDto(updatedRequest);
     }
@@ -2,12 +2,18 @@ package user;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@ComponentScan(basePackages = {"user", "util"})
+@EntityScan(basePackages = {"user", "outbox"})
+@EnableJpaRepositories(basePackages = {"user", "outbox"})
+@ComponentScan(basePackages = {"user", "util", "outbox"})
 @EnableFeignClients
+@EnableScheduling
 public class UserServiceApp {
     public static void main(String[] args) {
         SpringApplication.run(UserServiceApp.class, args);
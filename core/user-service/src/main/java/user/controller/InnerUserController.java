@@ -21,7 +21,8 @@ public class InnerUserController implements UserOperations {
     }
 
     @Override
-    public Map<Long, UserShortDto> getByIds(@RequestParam List<Long> ids) {
+    @PostMapping("/batch")
+    public Map<Long, UserShortDto> getByIds(@RequestBody List<Long> ids) {
         return userService.getUsers(ids);
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package user.service;
 
 import dto.user.NewUserRequest;
+import dto.user.UserDeletedDto;
 import dto.user.UserResponse;
 import dto.user.UserShortDto;
 import lombok.RequiredArgsConstructor;
@@ -9,6 +10,8 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import outbox.MessageTypes;
+import outbox.OutboxWriter;
 import user.persistence.model.User;
 import user.persistence.mapper.UserMapper;
 import user.persistence.repository.UserRepository;
@@ -26,6 +29,7 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final OutboxWriter outboxWriter;
 
     @Override
     public UserResponse createUser(NewUserRequest userRequest) {
@@ -97,6 +101,8 @@ public class UserServiceImpl implements UserService {
         log.info("Удаление пользователя с ID: {}", userId);
         checkUserExists(userId);
         userRepository.deleteById(userId);
+        outboxWriter.write(List.of("event-service", "request-service", "comment-service"), MessageTypes.USER_DELETED,
+                new UserDeletedDto(userId));
         log.info("Пользователь с ID {} успешно удален", userId);
     }
 
@@ -0,0 +1,157 @@
+package client;
+
+import lombok.extern.slf4j.Slf4j;
+import model.EndpointHitDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Ограниченная очередь хитов, которая сбрасывается пачками в фоновом потоке.
+ * Сброс происходит, когда набралось {@code batchSize} хитов или прошло {@code flushIntervalMs}
+ * с момента предыдущего сброса — смотря что наступит раньше.
+ */
+@Slf4j
+public class AsyncHitQueue {
+    private final BlockingQueue<EndpointHitDto> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final HitOverflowPolicy overflowPolicy;
+    private final Consumer<List<EndpointHitDto>> sender;
+    private final Thread worker;
+
+    private final AtomicLong flushedHits = new AtomicLong();
+    private final AtomicLong droppedHits = new AtomicLong();
+    private final AtomicLong failedHits = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    public AsyncHitQueue(int capacity, int batchSize, long flushIntervalMs,
+                         HitOverflowPolicy overflowPolicy, Consumer<List<EndpointHitDto>> sender) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+        this.overflowPolicy = overflowPolicy;
+        this.sender = sender;
+        this.worker = new Thread(this::run, "stats-hit-flusher");
+        this.worker.setDaemon(true);
+    }
+
+    public void start() {
+        worker.start();
+    }
+
+    /**
+     * Ставит хит в очередь, не блокируя вызывающий поток.
+     *
+     * @return {@code false}, если хит был отброшен из-за переполнения
+     */
+    public boolean offer(EndpointHitDto hit) {
+        if (queue.offer(hit)) {
+            return true;
+        }
+
+        switch (overflowPolicy) {
+            case DROP_OLDEST -> {
+                if (queue.poll() != null) {
+                    droppedHits.incrementAndGet();
+                }
+                if (queue.offer(hit)) {
+                    return true;
+                }
+                droppedHits.incrementAndGet();
+                return false;
+            }
+            case SEND_SYNC -> {
+                send(List.of(hit));
+                return true;
+            }
+            default -> {
+                droppedHits.incrementAndGet();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Останавливает фоновый поток, предварительно отправив всё, что осталось в очереди.
+     */
+    public void shutdown(long timeoutMs) {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getFlushedHits() {
+        return flushedHits.get();
+    }
+
+    public long getDroppedHits() {
+        return droppedHits.get();
+    }
+
+    public long getFailedHits() {
+        return failedHits.get();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<EndpointHitDto> batch = new ArrayList<>(batchSize);
+        long deadline = System.currentTimeMillis() + flushIntervalMs;
+
+        while (running) {
+            try {
+                long waitMs = deadline - System.currentTimeMillis();
+                EndpointHitDto hit = waitMs > 0 ? queue.poll(waitMs, TimeUnit.MILLISECONDS) : null;
+                if (hit != null) {
+                    batch.add(hit);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+
+                if (batch.size() >= batchSize || System.currentTimeMillis() >= deadline) {
+                    flush(batch);
+                    deadline = System.currentTimeMillis() + flushIntervalMs;
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+
+        queue.drainTo(batch);
+        while (!batch.isEmpty()) {
+            List<EndpointHitDto> chunk = new ArrayList<>(batch.subList(0, Math.min(batchSize, batch.size())));
+            batch.subList(0, chunk.size()).clear();
+            flush(chunk);
+        }
+    }
+
+    private void flush(List<EndpointHitDto> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        send(List.copyOf(batch));
+        batch.clear();
+    }
+
+    private void send(List<EndpointHitDto> batch) {
+        try {
+            sender.accept(batch);
+            flushedHits.addAndGet(batch.size());
+        } catch (Exception e) {
+            failedHits.addAndGet(batch.size());
+            log.warn("Не удалось отправить пачку из {} хитов: {}", batch.size(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package client;
+
+/**
+ * Что делать с хитом, если очередь асинхронной отправки переполнена.
+ */
+public enum HitOverflowPolicy {
+    /**
+     * Отбросить новый хит.
+     */
+    DROP_NEWEST,
+
+    /**
+     * Вытеснить самый старый хит из очереди и поставить новый.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Отправить хит синхронно в вызывающем потоке.
+     */
+    SEND_SYNC
+}
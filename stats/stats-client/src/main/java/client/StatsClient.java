@@ -1,21 +1,31 @@
 package client;
 
 import exception.StatsServerUnavailable;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import model.EndpointHitDto;
+import model.StatsRequestDto;
 import model.ViewStatsDto;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.cloud.client.discovery.event.HeartbeatMonitor;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClient;
-import org.springframework.web.util.UriComponentsBuilder;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Component
 @RequiredArgsConstructor
@@ -28,59 +38,146 @@ public class StatsClient {
 
     @Value("${apps:ewm-main}")
     private String appName;
-    private String getStatsServiceUrl() {
-        ServiceInstance serviceInstance = discoveryClient.getInstances(statsServiceId).stream()
-                .findFirst()
-                .orElseThrow(() -> new StatsServerUnavailable("Сервис статистики с id: " + statsServiceId
-                        + " не найден в реестре"));
 
-        return String.format("http://%s:%d", serviceInstance.getHost(), serviceInstance.getPort());
+    @Value("${stats-client.async.enabled:false}")
+    private boolean asyncEnabled;
+
+    @Value("${stats-client.async.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${stats-client.async.batch-size:100}")
+    private int batchSize;
+
+    @Value("${stats-client.async.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${stats-client.async.overflow-policy:DROP_NEWEST}")
+    private HitOverflowPolicy overflowPolicy;
+
+    @Value("${stats-client.async.shutdown-timeout-ms:5000}")
+    private long shutdownTimeoutMs;
+
+    @Value("${stats-client.approximate-unique:false}")
+    private boolean approximateUnique;
+
+    @Value("${stats-client.discovery.ttl-ms:30000}")
+    private long discoveryTtlMs;
+
+    @Value("${stats-client.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${stats-client.stats-chunk-size:200}")
+    private int statsChunkSize;
+
+    private final HeartbeatMonitor registryMonitor = new HeartbeatMonitor();
+    private final ExecutorService statsExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private StatsInstanceSelector instanceSelector;
+    private AsyncHitQueue hitQueue;
+
+    @PostConstruct
+    void init() {
+        instanceSelector = new StatsInstanceSelector(discoveryClient, restClientBuilder, statsServiceId,
+                discoveryTtlMs, connectTimeoutMs);
+        if (asyncEnabled) {
+            hitQueue = new AsyncHitQueue(queueCapacity, batchSize, flushIntervalMs, overflowPolicy, this::sendHits);
+            hitQueue.start();
+        }
+    }
+
+    @PreDestroy
+    void stopHitQueue() {
+        if (hitQueue != null) {
+            hitQueue.shutdown(shutdownTimeoutMs);
+        }
+        statsExecutor.shutdown();
+    }
+
+    @EventListener(HeartbeatEvent.class)
+    void onRegistryHeartbeat(HeartbeatEvent event) {
+        if (registryMonitor.update(event.getValue())) {
+            instanceSelector.invalidate();
+        }
     }
 
     private RestClient getRestClient() {
-        return restClientBuilder
-                .baseUrl(getStatsServiceUrl())
-                .build();
+        return instanceSelector.next();
+    }
+
+    private void onFailure(Exception e) {
+        if (e instanceof ResourceAccessException) {
+            instanceSelector.invalidate();
+        }
     }
 
     public void hit(EndpointHitDto endpointHitDto) {
-        try {
-            endpointHitDto.setApp(appName);
-            RestClient restClient = getRestClient();
+        endpointHitDto.setApp(appName);
+        if (hitQueue != null) {
+            hitQueue.offer(endpointHitDto);
+            return;
+        }
 
-            restClient.post()
-                    .uri("/hit")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .body(endpointHitDto)
-                    .retrieve()
-                    .toBodilessEntity();
+        try {
+            postHit(getRestClient(), endpointHitDto);
         } catch (StatsServerUnavailable e) {
             throw e;
         } catch (Exception e) {
+            onFailure(e);
             System.err.println("Ошибка при отправке статистики: " + e.getMessage());
         }
     }
 
-    public List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end,
-                                       List<String> uris, Boolean unique) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    public long getFlushedHits() {
+        return hitQueue != null ? hitQueue.getFlushedHits() : 0;
+    }
 
-        try {
-            UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromPath("/stats")
-                    .queryParam("start", start.format(formatter))
-                    .queryParam("end", end.format(formatter))
-                    .queryParam("unique", unique);
+    public long getDroppedHits() {
+        return hitQueue != null ? hitQueue.getDroppedHits() : 0;
+    }
 
-            if (uris != null && !uris.isEmpty()) {
-                uris.forEach(uri -> uriBuilder.queryParam("uris", uri));
-            }
+    public long getFailedHits() {
+        return hitQueue != null ? hitQueue.getFailedHits() : 0;
+    }
 
-            RestClient restClient = getRestClient();
+    public int getQueuedHits() {
+        return hitQueue != null ? hitQueue.getQueueSize() : 0;
+    }
 
-            return restClient.get()
-                    .uri(uriBuilder.build().toUriString())
+    private void sendHits(List<EndpointHitDto> hits) {
+        try {
+            getRestClient().post()
+                    .uri("/hits")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(hits)
                     .retrieve()
-                    .body(new ParameterizedTypeReference<>() {});
+                    .toBodilessEntity();
+        } catch (ResourceAccessException e) {
+            onFailure(e);
+            throw e;
+        }
+    }
+
+    private void postHit(RestClient restClient, EndpointHitDto endpointHitDto) {
+        restClient.post()
+                .uri("/hit")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(endpointHitDto)
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    public List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end,
+                                       List<String> uris, Boolean unique) {
+        return getStats(start, end, uris, unique, approximateUnique);
+    }
+
+    /**
+     * Запрашивает статистику через {@code POST /stats}. Длинный список uri делится на части
+     * по {@code stats-client.stats-chunk-size}, которые запрашиваются параллельно.
+     */
+    public List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end,
+                                       List<String> uris, Boolean unique, boolean approximate) {
+        try {
+            return requestStats(start, end, uris, unique, approximate);
         } catch (StatsServerUnavailable e) {
             throw e;
         } catch (Exception e) {
@@ -88,4 +185,73 @@ public class StatsClient {
             return List.of();
         }
     }
+
+    /**
+     * Как {@link #getStats(LocalDateTime, LocalDateTime, List, Boolean)}, но ошибка запроса
+     * пробрасывается, а не подменяется пустым списком: для вызывающих, которым пустой ответ
+     * нельзя спутать с отсутствием просмотров.
+     */
+    public List<ViewStatsDto> getStatsOrThrow(LocalDateTime start, LocalDateTime end,
+                                              List<String> uris, Boolean unique) {
+        return requestStats(start, end, uris, unique, approximateUnique);
+    }
+
+    private List<ViewStatsDto> requestStats(LocalDateTime start, LocalDateTime end,
+                                            List<String> uris, Boolean unique, boolean approximate) {
+        try {
+            RestClient restClient = getRestClient();
+            if (uris == null || uris.size() <= statsChunkSize) {
+                return postStats(restClient, start, end, uris, unique, approximate);
+            }
+
+            List<CompletableFuture<List<ViewStatsDto>>> chunks = new ArrayList<>();
+            for (int from = 0; from < uris.size(); from += statsChunkSize) {
+                List<String> chunk = uris.subList(from, Math.min(from + statsChunkSize, uris.size()));
+                chunks.add(CompletableFuture.supplyAsync(
+                        () -> postStats(restClient, start, end, chunk, unique, approximate), statsExecutor));
+            }
+
+            List<ViewStatsDto> result = new ArrayList<>();
+            for (CompletableFuture<List<ViewStatsDto>> chunk : chunks) {
+                List<ViewStatsDto> stats = join(chunk);
+                if (stats != null) {
+                    result.addAll(stats);
+                }
+            }
+            result.sort(Comparator.comparing(ViewStatsDto::getHits, Comparator.nullsLast(Comparator.reverseOrder())));
+            return result;
+        } catch (RuntimeException e) {
+            onFailure(e);
+            throw e;
+        }
+    }
+
+    private List<ViewStatsDto> postStats(RestClient restClient, LocalDateTime start, LocalDateTime end,
+                                         List<String> uris, Boolean unique, boolean approximate) {
+        StatsRequestDto request = StatsRequestDto.builder()
+                .start(start)
+                .end(end)
+                .uris(uris != null && !uris.isEmpty() ? uris.toArray(String[]::new) : null)
+                .unique(Boolean.TRUE.equals(unique))
+                .approximate(approximate)
+                .build();
+
+        return restClient.post()
+                .uri("/stats")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(request)
+                .retrieve()
+                .body(new ParameterizedTypeReference<>() {});
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
 }
\ No newline at end of file
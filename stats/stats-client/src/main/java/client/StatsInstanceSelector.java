@@ -0,0 +1,90 @@
+package client;
+
+import exception.StatsServerUnavailable;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Выбор экземпляра stats-server по кругу среди всех зарегистрированных.
+ * Список экземпляров кэшируется на {@code ttlMs} и сбрасывается при изменении реестра или ошибке соединения.
+ * Для каждого экземпляра держится один {@link RestClient} поверх общего HTTP-клиента с keep-alive соединениями.
+ */
+public class StatsInstanceSelector {
+    private final DiscoveryClient discoveryClient;
+    private final RestClient.Builder restClientBuilder;
+    private final String serviceId;
+    private final long ttlMs;
+    private final JdkClientHttpRequestFactory requestFactory;
+
+    private final Map<String, RestClient> clients = new ConcurrentHashMap<>();
+    private final AtomicInteger position = new AtomicInteger();
+
+    private volatile List<String> baseUrls = List.of();
+    private volatile long expiresAt;
+
+    public StatsInstanceSelector(DiscoveryClient discoveryClient, RestClient.Builder restClientBuilder,
+                                 String serviceId, long ttlMs, long connectTimeoutMs) {
+        this.discoveryClient = discoveryClient;
+        this.restClientBuilder = restClientBuilder;
+        this.serviceId = serviceId;
+        this.ttlMs = ttlMs;
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        this.requestFactory = new JdkClientHttpRequestFactory(httpClient);
+    }
+
+    public RestClient next() {
+        List<String> urls = getBaseUrls();
+        String baseUrl = urls.get(Math.floorMod(position.getAndIncrement(), urls.size()));
+        return clients.computeIfAbsent(baseUrl, url -> restClientBuilder.clone()
+                .requestFactory(requestFactory)
+                .baseUrl(url)
+                .build());
+    }
+
+    public void invalidate() {
+        expiresAt = 0;
+    }
+
+    private List<String> getBaseUrls() {
+        List<String> urls = baseUrls;
+        if (!urls.isEmpty() && System.currentTimeMillis() < expiresAt) {
+            return urls;
+        }
+
+        synchronized (this) {
+            if (!baseUrls.isEmpty() && System.currentTimeMillis() < expiresAt) {
+                return baseUrls;
+            }
+
+            urls = discoveryClient.getInstances(serviceId).stream()
+                    .map(StatsInstanceSelector::toBaseUrl)
+                    .distinct()
+                    .toList();
+            if (urls.isEmpty()) {
+                throw new StatsServerUnavailable("Сервис статистики с id: " + serviceId + " не найден в реестре");
+            }
+
+            clients.keySet().retainAll(urls);
+            baseUrls = urls;
+            expiresAt = System.currentTimeMillis() + ttlMs;
+            return urls;
+        }
+    }
+
+    private static String toBaseUrl(ServiceInstance instance) {
+        return String.format("http://%s:%d", instance.getHost(), instance.getPort());
+    }
+}
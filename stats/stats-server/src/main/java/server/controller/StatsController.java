@@ -1,27 +1,43 @@
 package server.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import model.EndpointHitDto;
+import model.StatsRequestDto;
 import model.ViewStatsDto;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
-
-import jakarta.validation.Valid;
 import server.service.StatsService;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequiredArgsConstructor
 @Slf4j
 @Validated
 public class StatsController {
+    private static final int NDJSON_CHUNK_SIZE = 1000;
 
     private final StatsService statsService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
     @PostMapping("/hit")
     @ResponseStatus(HttpStatus.CREATED)
@@ -30,18 +46,84 @@ public class StatsController {
         statsService.saveHit(endpointHitDto);
     }
 
+    @PostMapping(value = "/hits", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public void saveHits(@RequestBody List<@Valid EndpointHitDto> hits) {
+        log.info("Получена пачка хитов: {}", hits.size());
+        statsService.saveHits(hits);
+    }
+
+    /**
+     * Поток хитов сохраняется частями в одной транзакции: при ошибке разбора или валидации
+     * любой строки ответ 400 и ни один хит запроса не сохраняется.
+     */
+    @PostMapping(value = "/hits", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public void saveHitsStream(InputStream body) throws IOException {
+        try (MappingIterator<EndpointHitDto> iterator = objectMapper.readerFor(EndpointHitDto.class).readValues(body)) {
+            int total = statsService.saveHits(new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    try {
+                        return iterator.hasNextValue();
+                    } catch (JsonProcessingException e) {
+                        throw new IllegalArgumentException("Некорректная строка NDJSON: " + e.getOriginalMessage());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override
+                public EndpointHitDto next() {
+                    try {
+                        return validate(iterator.nextValue());
+                    } catch (JsonProcessingException e) {
+                        throw new IllegalArgumentException("Некорректная строка NDJSON: " + e.getOriginalMessage());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }, NDJSON_CHUNK_SIZE);
+            log.info("Получен поток хитов в формате NDJSON: {}", total);
+        }
+    }
+
     @GetMapping("/stats")
     public List<ViewStatsDto> getStats(
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime start,
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime end,
             @RequestParam(required = false) List<String> uris,
-            @RequestParam(defaultValue = "false") Boolean unique) {
+            @RequestParam(defaultValue = "false") Boolean unique,
+            @RequestParam(defaultValue = "false") Boolean approximate) {
 
+        return findStats(start, end, uris, unique, approximate);
+    }
+
+    /**
+     * То же, что {@code GET /stats}, но список uri передаётся в теле и не ограничен длиной строки запроса.
+     */
+    @PostMapping("/stats")
+    public List<ViewStatsDto> getStatsBatch(@Valid @RequestBody StatsRequestDto request) {
+        List<String> uris = request.getUris() != null ? Arrays.asList(request.getUris()) : null;
+        return findStats(request.getStart(), request.getEnd(), uris, request.isUnique(), request.isApproximate());
+    }
+
+    private List<ViewStatsDto> findStats(LocalDateTime start, LocalDateTime end, List<String> uris,
+                                         boolean unique, boolean approximate) {
         if (start.isAfter(end)) {
             throw new IllegalArgumentException("Дата начала должна быть раньше даты окончания");
         }
 
-        log.info("Получение статистики от {} до {}, uris: {}, unique: {}", start, end, uris, unique);
-        return statsService.getStats(start, end, uris, unique);
+        log.info("Получение статистики от {} до {}, uris: {}, unique: {}, approximate: {}",
+                start, end, uris, unique, approximate);
+        return statsService.getStats(start, end, uris, unique, approximate);
+    }
+
+    private EndpointHitDto validate(EndpointHitDto hit) {
+        Set<ConstraintViolation<EndpointHitDto>> violations = validator.validate(hit);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return hit;
     }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package server.partition;
+
+import java.time.LocalDateTime;
+
+/**
+ * Секция {@code endpoint_hits} с диапазоном [from, to). У секции по умолчанию границ нет.
+ */
+record HitPartition(String name, LocalDateTime from, LocalDateTime to) {
+
+    boolean isDefault() {
+        return from == null;
+    }
+
+    boolean overlaps(LocalDateTime otherFrom, LocalDateTime otherTo) {
+        return !isDefault() && from.isBefore(otherTo) && otherFrom.isBefore(to);
+    }
+}
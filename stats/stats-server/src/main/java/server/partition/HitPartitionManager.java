@@ -0,0 +1,134 @@
+package server.partition;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Ведёт секции {@code endpoint_hits}, которую на секционирование по {@code timestamp} переводит
+ * миграция {@link HitPartitionMigration}: при старте и по расписанию создаёт секции наперёд
+ * и удаляет или отсоединяет устаревшие.
+ * Запросы статистики фильтруют по {@code timestamp}, поэтому PostgreSQL читает только нужные секции.
+ */
+@Component
+@ConditionalOnProperty(name = "stats.partitioning.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class HitPartitionManager {
+    static final String TABLE = "endpoint_hits";
+    static final String DEFAULT_PARTITION = "endpoint_hits_default";
+
+    private static final Pattern RANGE_BOUND = Pattern.compile("FROM \\('([^']+)'\\) TO \\('([^']+)'\\)");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${stats.partitioning.interval:MONTH}")
+    private PartitionInterval interval;
+
+    @Value("${stats.partitioning.premake:3}")
+    private int premake;
+
+    @Value("${stats.partitioning.retention:0}")
+    private int retention;
+
+    @Value("${stats.partitioning.retention-mode:DROP}")
+    private RetentionMode retentionMode;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void init() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${stats.partitioning.maintenance-cron:0 0 3 * * *}")
+    public void maintain() {
+        LocalDateTime current = interval.floor(LocalDateTime.now());
+        LocalDateTime from = current;
+        for (int i = 0; i <= premake; i++) {
+            LocalDateTime to = interval.next(from);
+            LocalDateTime partitionFrom = from;
+            try {
+                transactionTemplate.executeWithoutResult(status -> createPartition(partitionFrom, to));
+            } catch (DataAccessException e) {
+                // Чаще всего в секции по умолчанию уже лежат хиты из этого диапазона
+                log.warn("Не удалось создать секцию для диапазона [{}, {}): {}",
+                        partitionFrom, to, e.getMostSpecificCause().getMessage());
+            }
+            from = to;
+        }
+
+        if (retention > 0) {
+            LocalDateTime threshold = interval.minus(current, retention);
+            transactionTemplate.executeWithoutResult(status -> applyRetention(threshold));
+        }
+    }
+
+    private void createPartition(LocalDateTime from, LocalDateTime to) {
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(hashtext('" + TABLE + "'))");
+        boolean exists = findPartitions().stream().anyMatch(partition -> partition.overlaps(from, to));
+        if (exists) {
+            return;
+        }
+
+        jdbcTemplate.execute(partitionDdl(interval, from, to));
+        log.info("Создана секция {}_p{} для диапазона [{}, {})", TABLE, interval.suffix(from), from, to);
+    }
+
+    static String partitionDdl(PartitionInterval interval, LocalDateTime from, LocalDateTime to) {
+        return "CREATE TABLE " + TABLE + "_p" + interval.suffix(from) + " PARTITION OF " + TABLE +
+                " FOR VALUES FROM ('" + from.format(BOUND_FORMAT) + "') TO ('" + to.format(BOUND_FORMAT) + "')";
+    }
+
+    private void applyRetention(LocalDateTime threshold) {
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(hashtext('" + TABLE + "'))");
+        for (HitPartition partition : findPartitions()) {
+            if (partition.isDefault() || partition.to().isAfter(threshold)) {
+                continue;
+            }
+
+            if (retentionMode == RetentionMode.DETACH) {
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition.name());
+                log.info("Секция {} отсоединена для архивации", partition.name());
+            } else {
+                jdbcTemplate.execute("DROP TABLE " + partition.name());
+                log.info("Секция {} удалена по сроку хранения", partition.name());
+            }
+        }
+    }
+
+    private List<HitPartition> findPartitions() {
+        return jdbcTemplate.query(
+                "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) AS bound " +
+                        "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "WHERE i.inhparent = to_regclass(?)",
+                (rs, rowNum) -> {
+                    Matcher matcher = RANGE_BOUND.matcher(rs.getString("bound"));
+                    if (!matcher.find()) {
+                        return new HitPartition(rs.getString("relname"), null, null);
+                    }
+                    return new HitPartition(rs.getString("relname"),
+                            Timestamp.valueOf(matcher.group(1)).toLocalDateTime(),
+                            Timestamp.valueOf(matcher.group(2)).toLocalDateTime());
+                },
+                TABLE);
+    }
+}
@@ -0,0 +1,120 @@
+package server.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Миграция V3: переводит {@code endpoint_hits} на секционирование по {@code timestamp}. Spring Boot передаёт миграцию
+ * во Flyway как бин, поэтому она выполняется до старта веб-сервера, а шаг секций берётся из настроек.
+ * Обычная таблица переименовывается, её строки переносятся в секционированную, индексы пересоздаются.
+ * Секции создаются от самого старого хита по текущий интервал включительно; секции наперёд и срок хранения
+ * ведёт {@link HitPartitionManager}. Если таблица уже секционирована, миграция ничего не делает.
+ */
+@Component
+@Slf4j
+public class HitPartitionMigration implements JavaMigration {
+    private static final String LEGACY_TABLE = "endpoint_hits_legacy";
+    private static final String ID_SEQUENCE = "endpoint_hits_part_id_seq";
+
+    @Value("${stats.partitioning.interval:MONTH}")
+    private PartitionInterval interval;
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("3");
+    }
+
+    @Override
+    public String getDescription() {
+        return "partition endpoint hits";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        String table = HitPartitionManager.TABLE;
+
+        List<String> kinds = jdbcTemplate.queryForList(
+                "SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)", String.class, table);
+        if (!kinds.isEmpty() && "p".equals(kinds.getFirst())) {
+            return;
+        }
+
+        List<String> indexes = List.of();
+        Timestamp oldest = null;
+        if (!kinds.isEmpty()) {
+            jdbcTemplate.execute("LOCK TABLE " + table + " IN ACCESS EXCLUSIVE MODE");
+            indexes = jdbcTemplate.queryForList(
+                    "SELECT i.indexdef FROM pg_indexes i " +
+                            "WHERE i.schemaname = current_schema() AND i.tablename = ? " +
+                            "AND NOT EXISTS (SELECT 1 FROM pg_constraint c " +
+                            "WHERE c.conrelid = to_regclass(?) AND c.conname = i.indexname)",
+                    String.class, table, table);
+            jdbcTemplate.execute("ALTER TABLE " + table + " RENAME TO " + LEGACY_TABLE);
+            oldest = jdbcTemplate.queryForObject("SELECT MIN(timestamp) FROM " + LEGACY_TABLE, Timestamp.class);
+        }
+
+        createParent(jdbcTemplate, table);
+        LocalDateTime from = interval.floor(oldest != null ? oldest.toLocalDateTime() : LocalDateTime.now());
+        LocalDateTime until = interval.floor(LocalDateTime.now());
+        while (!from.isAfter(until)) {
+            LocalDateTime to = interval.next(from);
+            jdbcTemplate.execute(HitPartitionManager.partitionDdl(interval, from, to));
+            from = to;
+        }
+        jdbcTemplate.execute("CREATE TABLE " + HitPartitionManager.DEFAULT_PARTITION +
+                " PARTITION OF " + table + " DEFAULT");
+
+        if (kinds.isEmpty()) {
+            return;
+        }
+
+        int moved = jdbcTemplate.update("INSERT INTO " + table + " (id, app, uri, ip, timestamp) " +
+                "SELECT id, app, uri, ip, timestamp FROM " + LEGACY_TABLE);
+        jdbcTemplate.execute("DROP TABLE " + LEGACY_TABLE);
+        jdbcTemplate.queryForObject("SELECT setval('" + ID_SEQUENCE + "', " +
+                "COALESCE((SELECT MAX(id) FROM " + table + "), 0) + 1, false)", Long.class);
+
+        for (String index : indexes) {
+            if (index.startsWith("CREATE UNIQUE")) {
+                log.warn("Уникальный индекс без ключа секционирования не переносится: {}", index);
+                continue;
+            }
+            jdbcTemplate.execute(index);
+        }
+        log.info("Таблица {} переведена на секционирование, перенесено хитов: {}", table, moved);
+    }
+
+    private void createParent(JdbcTemplate jdbcTemplate, String table) {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + ID_SEQUENCE);
+        jdbcTemplate.execute("CREATE TABLE " + table + " (" +
+                "id BIGINT NOT NULL DEFAULT nextval('" + ID_SEQUENCE + "'), " +
+                "app VARCHAR(255) NOT NULL, " +
+                "uri VARCHAR(255) NOT NULL, " +
+                "ip VARCHAR(255) NOT NULL, " +
+                "timestamp TIMESTAMP(6) NOT NULL, " +
+                "CONSTRAINT endpoint_hits_part_pkey PRIMARY KEY (id, timestamp)" +
+                ") PARTITION BY RANGE (timestamp)");
+        jdbcTemplate.execute("ALTER SEQUENCE " + ID_SEQUENCE + " OWNED BY " + table + ".id");
+    }
+}
@@ -0,0 +1,38 @@
+package server.partition;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Шаг нарезки секций {@code endpoint_hits} по времени хита.
+ */
+public enum PartitionInterval {
+    DAY(ChronoUnit.DAYS, "yyyyMMdd"),
+    MONTH(ChronoUnit.MONTHS, "yyyyMM");
+
+    private final ChronoUnit unit;
+    private final DateTimeFormatter suffixFormat;
+
+    PartitionInterval(ChronoUnit unit, String suffixPattern) {
+        this.unit = unit;
+        this.suffixFormat = DateTimeFormatter.ofPattern(suffixPattern);
+    }
+
+    public LocalDateTime floor(LocalDateTime dateTime) {
+        LocalDateTime day = dateTime.truncatedTo(ChronoUnit.DAYS);
+        return this == MONTH ? day.withDayOfMonth(1) : day;
+    }
+
+    public LocalDateTime next(LocalDateTime start) {
+        return start.plus(1, unit);
+    }
+
+    public LocalDateTime minus(LocalDateTime start, long amount) {
+        return start.minus(amount, unit);
+    }
+
+    public String suffix(LocalDateTime start) {
+        return start.format(suffixFormat);
+    }
+}
@@ -0,0 +1,16 @@
+package server.partition;
+
+/**
+ * Что делать с секциями, вышедшими за срок хранения.
+ */
+public enum RetentionMode {
+    /**
+     * Удалить секцию вместе с данными.
+     */
+    DROP,
+
+    /**
+     * Отсоединить секцию от {@code endpoint_hits} и оставить отдельной таблицей для архивации.
+     */
+    DETACH
+}
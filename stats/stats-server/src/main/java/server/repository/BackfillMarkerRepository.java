@@ -0,0 +1,25 @@
+package server.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Отметки о завершённом заполнении производных таблиц по сырым хитам. Отметка пишется в той же транзакции,
+ * что и заполнение, поэтому её наличие означает, что в таблице учтена вся история.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BackfillMarkerRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean isCompleted(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM stats_backfills WHERE name = ?)", Boolean.class, name));
+    }
+
+    public void markCompleted(String name) {
+        jdbcTemplate.update("INSERT INTO stats_backfills (name, completed_at) VALUES (?, now()) " +
+                "ON CONFLICT (name) DO NOTHING", name);
+    }
+}
@@ -0,0 +1,55 @@
+package server.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import server.entity.EndpointHitEntity;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Пакетная запись хитов одним многострочным INSERT на порцию, в обход Hibernate:
+ * IDENTITY-ключ не позволяет Hibernate батчить вставки, и каждый persist превращается в отдельный round-trip.
+ */
+@Repository
+@RequiredArgsConstructor
+public class HitBulkRepository {
+    private static final int ROWS_PER_STATEMENT = 500;
+    private static final String INSERT_PREFIX = "INSERT INTO endpoint_hits (app, uri, ip, timestamp) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int insertAll(List<EndpointHitEntity> hits) {
+        int inserted = 0;
+        for (int from = 0; from < hits.size(); from += ROWS_PER_STATEMENT) {
+            List<EndpointHitEntity> chunk = hits.subList(from, Math.min(from + ROWS_PER_STATEMENT, hits.size()));
+            inserted += jdbcTemplate.update(buildInsert(chunk.size()), toArgs(chunk));
+        }
+        return inserted;
+    }
+
+    /**
+     * Блокирует вставку хитов до конца текущей транзакции; чтение не блокируется.
+     */
+    public void lockAgainstWrites() {
+        jdbcTemplate.execute("LOCK TABLE endpoint_hits IN SHARE MODE");
+    }
+
+    private String buildInsert(int rows) {
+        return INSERT_PREFIX + String.join(", ", Collections.nCopies(rows, ROW_PLACEHOLDER));
+    }
+
+    private Object[] toArgs(List<EndpointHitEntity> chunk) {
+        Object[] args = new Object[chunk.size() * 4];
+        int i = 0;
+        for (EndpointHitEntity hit : chunk) {
+            args[i++] = hit.getApp();
+            args[i++] = hit.getUri();
+            args[i++] = hit.getIp();
+            args[i++] = hit.getTimestamp();
+        }
+        return args;
+    }
+}
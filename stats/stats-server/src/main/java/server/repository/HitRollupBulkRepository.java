@@ -0,0 +1,56 @@
+package server.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import server.entity.TimeBucket;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Инкрементальное обновление агрегатов через upsert, чтобы параллельные вставки хитов
+ * в один и тот же бакет не теряли обновления.
+ */
+@Repository
+@RequiredArgsConstructor
+public class HitRollupBulkRepository {
+    private static final String UPSERT = "INSERT INTO hit_rollups (granularity, app, uri, bucket_start, hits) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (granularity, app, uri, bucket_start) " +
+            "DO UPDATE SET hits = hit_rollups.hits + EXCLUDED.hits";
+
+    private static final String REBUILD = "INSERT INTO hit_rollups (granularity, app, uri, bucket_start, hits) " +
+            "SELECT '%1$s', app, uri, date_trunc('%2$s', timestamp), COUNT(*) " +
+            "FROM endpoint_hits " +
+            "GROUP BY app, uri, date_trunc('%2$s', timestamp) " +
+            "ON CONFLICT (granularity, app, uri, bucket_start) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void increment(List<RollupIncrement> increments) {
+        jdbcTemplate.batchUpdate(UPSERT, increments, increments.size(), (ps, increment) -> {
+            ps.setString(1, increment.granularity().name());
+            ps.setString(2, increment.app());
+            ps.setString(3, increment.uri());
+            ps.setTimestamp(4, Timestamp.valueOf(increment.bucketStart()));
+            ps.setLong(5, increment.hits());
+        });
+    }
+
+    /**
+     * Пересчитывает агрегаты по всем сырым хитам, заменяя уже накопленные. Вызывать под блокировкой
+     * вставки хитов, иначе хиты, вставленные во время пересчёта, будут учтены дважды или потеряны.
+     */
+    public void rebuild() {
+        jdbcTemplate.update("DELETE FROM hit_rollups");
+        for (TimeBucket bucket : TimeBucket.values()) {
+            jdbcTemplate.update(REBUILD.formatted(bucket.name(), bucket.name().toLowerCase()));
+        }
+    }
+
+    public record RollupIncrement(TimeBucket granularity, String app, String uri,
+                                  LocalDateTime bucketStart, long hits) {
+    }
+}
@@ -0,0 +1,154 @@
+package server.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import server.entity.TimeBucket;
+import server.sketch.HyperLogLog;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Слияние скетчей уникальных посетителей с уже сохранёнными в БД пачкой: отсутствующие строки
+ * вставляются одним пакетом, существующие блокируются одним запросом на часть пачки в порядке ключа
+ * и перезаписываются одним пакетом, только если слияние их изменило.
+ * Слияние скетчей идемпотентно, поэтому строки, только что вставленные этой же пачкой, не меняются.
+ */
+@Repository
+@RequiredArgsConstructor
+public class HitSketchBulkRepository {
+    private static final int CHUNK_SIZE = 250;
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String KEY_COLUMNS = "granularity, app, uri, bucket_start";
+
+    private static final String INSERT = "INSERT INTO hit_sketches (" + KEY_COLUMNS + ", registers) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (" + KEY_COLUMNS + ") DO NOTHING";
+    private static final String SELECT_FOR_UPDATE = "SELECT " + KEY_COLUMNS + ", registers FROM hit_sketches " +
+            "WHERE (" + KEY_COLUMNS + ") IN (%s) " +
+            "ORDER BY " + KEY_COLUMNS + " " +
+            "FOR UPDATE";
+    private static final String UPDATE = "UPDATE hit_sketches SET registers = ? " +
+            "WHERE granularity = ? AND app = ? AND uri = ? AND bucket_start = ?";
+
+    private static final String VISITORS = "SELECT DISTINCT app, uri, date_trunc('%s', timestamp) AS bucket_start, ip " +
+            "FROM endpoint_hits " +
+            "ORDER BY app, uri, bucket_start";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Ключи отсортированы, чтобы параллельные транзакции вставляли и блокировали строки в одном порядке.
+     */
+    public void mergeAll(SortedMap<SketchKey, HyperLogLog> sketches) {
+        List<Map.Entry<SketchKey, HyperLogLog>> entries = List.copyOf(sketches.entrySet());
+        for (int from = 0; from < entries.size(); from += CHUNK_SIZE) {
+            mergeChunk(entries.subList(from, Math.min(from + CHUNK_SIZE, entries.size())));
+        }
+    }
+
+    private void mergeChunk(List<Map.Entry<SketchKey, HyperLogLog>> chunk) {
+        jdbcTemplate.batchUpdate(INSERT, chunk, chunk.size(), (ps, entry) -> {
+            setKey(ps, 1, entry.getKey());
+            ps.setBytes(5, entry.getValue().toBytes());
+        });
+
+        List<Object> params = new ArrayList<>(chunk.size() * 4);
+        Map<SketchKey, HyperLogLog> incoming = new HashMap<>();
+        for (Map.Entry<SketchKey, HyperLogLog> entry : chunk) {
+            SketchKey key = entry.getKey();
+            params.addAll(List.of(key.granularity().name(), key.app(), key.uri(),
+                    Timestamp.valueOf(key.bucketStart())));
+            incoming.put(key, entry.getValue());
+        }
+        String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "(?, ?, ?, ?)"));
+
+        List<Map.Entry<SketchKey, byte[]>> changed = new ArrayList<>();
+        jdbcTemplate.query(SELECT_FOR_UPDATE.formatted(placeholders), rs -> {
+            SketchKey key = new SketchKey(TimeBucket.valueOf(rs.getString("granularity")), rs.getString("app"),
+                    rs.getString("uri"), rs.getTimestamp("bucket_start").toLocalDateTime());
+            byte[] stored = rs.getBytes("registers");
+            byte[] merged = incoming.get(key).mergeBytes(stored).toBytes();
+            if (!Arrays.equals(stored, merged)) {
+                changed.add(Map.entry(key, merged));
+            }
+        }, params.toArray());
+
+        if (!changed.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE, changed, changed.size(), (ps, entry) -> {
+                ps.setBytes(1, entry.getValue());
+                setKey(ps, 2, entry.getKey());
+            });
+        }
+    }
+
+    public void deleteAll() {
+        jdbcTemplate.update("DELETE FROM hit_sketches");
+    }
+
+    /**
+     * Строит скетчи по сырым хитам, читая их курсором порциями по {@value #FETCH_SIZE} строк
+     * в порядке (app, uri, бакет). Курсор PostgreSQL работает только при выключенном autocommit,
+     * поэтому метод нужно вызывать внутри транзакции, иначе драйвер загрузит весь результат в память.
+     */
+    public void forEachRawSketch(TimeBucket granularity, BiConsumer<SketchKey, HyperLogLog> consumer) {
+        SketchKey[] current = new SketchKey[1];
+        HyperLogLog[] sketch = new HyperLogLog[1];
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    VISITORS.formatted(granularity.name().toLowerCase()));
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, rs -> {
+            SketchKey key = new SketchKey(granularity, rs.getString("app"), rs.getString("uri"),
+                    rs.getTimestamp("bucket_start").toLocalDateTime());
+            if (!key.equals(current[0])) {
+                if (current[0] != null) {
+                    consumer.accept(current[0], sketch[0]);
+                }
+                current[0] = key;
+                sketch[0] = new HyperLogLog();
+            }
+            sketch[0].add(rs.getString("ip"));
+        });
+
+        if (current[0] != null) {
+            consumer.accept(current[0], sketch[0]);
+        }
+    }
+
+    private static void setKey(PreparedStatement ps, int index, SketchKey key) throws SQLException {
+        ps.setString(index, key.granularity().name());
+        ps.setString(index + 1, key.app());
+        ps.setString(index + 2, key.uri());
+        ps.setTimestamp(index + 3, Timestamp.valueOf(key.bucketStart()));
+    }
+
+    public record SketchKey(TimeBucket granularity, String app, String uri, LocalDateTime bucketStart)
+            implements Comparable<SketchKey> {
+        @Override
+        public int compareTo(SketchKey other) {
+            int result = granularity.compareTo(other.granularity);
+            if (result == 0) {
+                result = app.compareTo(other.app);
+            }
+            if (result == 0) {
+                result = uri.compareTo(other.uri);
+            }
+            return result != 0 ? result : bucketStart.compareTo(other.bucketStart);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package server.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import server.entity.HitSketchEntity;
+import server.entity.TimeBucket;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface HitSketchRepository extends JpaRepository<HitSketchEntity, Long> {
+
+    @Query("SELECT s FROM HitSketchEntity s " +
+            "WHERE s.granularity = :granularity " +
+            "AND s.bucketStart >= :from AND s.bucketStart < :to " +
+            "AND (:uris IS NULL OR s.uri IN :uris)")
+    List<HitSketchEntity> findSketches(@Param("granularity") TimeBucket granularity,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to,
+                                       @Param("uris") List<String> uris);
+}
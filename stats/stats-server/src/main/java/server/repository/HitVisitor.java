@@ -0,0 +1,4 @@
+package server.repository;
+
+public record HitVisitor(String app, String uri, String ip) {
+}
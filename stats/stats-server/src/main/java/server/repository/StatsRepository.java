@@ -23,6 +23,15 @@ public interface StatsRepository extends JpaRepository<EndpointHitEntity, Long>
                                  @Param("end") LocalDateTime end,
                                  @Param("uris") List<String> uris);
 
+    @Query("SELECT new model.ViewStatsDto(h.app, h.uri, COUNT(h.ip)) " +
+            "FROM EndpointHitEntity h " +
+            "WHERE h.timestamp >= :start AND h.timestamp < :end " +
+            "AND (:uris IS NULL OR h.uri IN :uris) " +
+            "GROUP BY h.app, h.uri")
+    List<ViewStatsDto> findStatsBefore(@Param("start") LocalDateTime start,
+                                       @Param("end") LocalDateTime end,
+                                       @Param("uris") List<String> uris);
+
     @Query("SELECT new model.ViewStatsDto(h.app, h.uri, COUNT(DISTINCT h.ip)) " +
             "FROM EndpointHitEntity h " +
             "WHERE h.timestamp BETWEEN :start AND :end " +
@@ -32,4 +41,20 @@ public interface StatsRepository extends JpaRepository<EndpointHitEntity, Long>
     List<ViewStatsDto> findUniqueStats(@Param("start") LocalDateTime start,
                                        @Param("end") LocalDateTime end,
                                        @Param("uris") List<String> uris);
-}
\ No newline at end of file
+
+    @Query("SELECT DISTINCT new server.repository.HitVisitor(h.app, h.uri, h.ip) " +
+            "FROM EndpointHitEntity h " +
+            "WHERE h.timestamp BETWEEN :start AND :end " +
+            "AND (:uris IS NULL OR h.uri IN :uris)")
+    List<HitVisitor> findVisitors(@Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end,
+                                  @Param("uris") List<String> uris);
+
+    @Query("SELECT DISTINCT new server.repository.HitVisitor(h.app, h.uri, h.ip) " +
+            "FROM EndpointHitEntity h " +
+            "WHERE h.timestamp >= :start AND h.timestamp < :end " +
+            "AND (:uris IS NULL OR h.uri IN :uris)")
+    List<HitVisitor> findVisitorsBefore(@Param("start") LocalDateTime start,
+                                        @Param("end") LocalDateTime end,
+                                        @Param("uris") List<String> uris);
+}
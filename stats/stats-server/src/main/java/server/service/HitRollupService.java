@@ -0,0 +1,113 @@
+package server.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import model.ViewStatsDto;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import server.entity.EndpointHitEntity;
+import server.entity.TimeBucket;
+import server.repository.BackfillMarkerRepository;
+import server.repository.HitBulkRepository;
+import server.repository.HitRollupBulkRepository;
+import server.repository.HitRollupBulkRepository.RollupIncrement;
+import server.repository.HitRollupRepository;
+import server.repository.StatsRepository;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Почасовые и посуточные агрегаты хитов по (app, uri).
+ * Агрегаты обновляются в той же транзакции, что и вставка сырых хитов.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HitRollupService {
+    // Единый порядок upsert'ов, чтобы параллельные транзакции не ловили взаимоблокировку
+    private static final Comparator<RollupIncrement> INCREMENT_ORDER = Comparator
+            .comparing(RollupIncrement::granularity)
+            .thenComparing(RollupIncrement::app)
+            .thenComparing(RollupIncrement::uri)
+            .thenComparing(RollupIncrement::bucketStart);
+    private static final String BACKFILL = "hit_rollups";
+
+    private final HitRollupRepository hitRollupRepository;
+    private final HitRollupBulkRepository hitRollupBulkRepository;
+    private final StatsRepository statsRepository;
+    private final HitBulkRepository hitBulkRepository;
+    private final BackfillMarkerRepository backfillMarkerRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(List<EndpointHitEntity> hits) {
+        Map<RollupKey, Long> counts = hits.stream()
+                .flatMap(hit -> Arrays.stream(TimeBucket.values())
+                        .map(bucket -> new RollupKey(bucket, hit.getApp(), hit.getUri(),
+                                bucket.floor(hit.getTimestamp()))))
+                .collect(Collectors.groupingBy(key -> key, LinkedHashMap::new, Collectors.counting()));
+
+        List<RollupIncrement> increments = counts.entrySet().stream()
+                .map(e -> new RollupIncrement(e.getKey().bucket(), e.getKey().app(), e.getKey().uri(),
+                        e.getKey().bucketStart(), e.getValue()))
+                .sorted(INCREMENT_ORDER)
+                .toList();
+        hitRollupBulkRepository.increment(increments);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ViewStatsDto> findStats(LocalDateTime start, LocalDateTime end, List<String> uris) {
+        Map<AppUri, Long> totals = new LinkedHashMap<>();
+        for (StatsRangePlan.Segment segment : StatsRangePlan.plan(start, end)) {
+            List<ViewStatsDto> part;
+            if (segment.isRaw()) {
+                part = segment.endInclusive()
+                        ? statsRepository.findStats(segment.from(), segment.to(), uris)
+                        : statsRepository.findStatsBefore(segment.from(), segment.to(), uris);
+            } else {
+                part = hitRollupRepository.sumHits(segment.bucket(), segment.from(), segment.to(), uris);
+            }
+            part.forEach(stats -> totals.merge(new AppUri(stats.getApp(), stats.getUri()), stats.getHits(), Long::sum));
+        }
+
+        return totals.entrySet().stream()
+                .map(e -> new ViewStatsDto(e.getKey().app(), e.getKey().uri(), e.getValue()))
+                .sorted(Comparator.comparing(ViewStatsDto::getHits).reversed())
+                .toList();
+    }
+
+    /**
+     * Заполняет агрегаты по уже накопленным хитам, пока нет отметки о завершённом заполнении.
+     * Агрегаты, которые успели накопиться с начала приёма хитов, пересчитываются заново вместе с историей.
+     * Вставка хитов блокируется на время пересчёта, чтобы новые хиты не попали в агрегаты дважды.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        if (backfillMarkerRepository.isCompleted(BACKFILL)) {
+            return;
+        }
+        hitBulkRepository.lockAgainstWrites();
+        if (backfillMarkerRepository.isCompleted(BACKFILL)) {
+            return;
+        }
+
+        hitRollupBulkRepository.rebuild();
+        backfillMarkerRepository.markCompleted(BACKFILL);
+        log.info("Агрегаты хитов заполнены по сырым данным");
+    }
+
+    private record RollupKey(TimeBucket bucket, String app, String uri, LocalDateTime bucketStart) {
+    }
+
+    private record AppUri(String app, String uri) {
+    }
+}
@@ -0,0 +1,122 @@
+package server.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import model.ViewStatsDto;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import server.entity.EndpointHitEntity;
+import server.entity.HitSketchEntity;
+import server.entity.TimeBucket;
+import server.repository.BackfillMarkerRepository;
+import server.repository.HitBulkRepository;
+import server.repository.HitSketchBulkRepository;
+import server.repository.HitSketchBulkRepository.SketchKey;
+import server.repository.HitSketchRepository;
+import server.repository.HitVisitor;
+import server.repository.StatsRepository;
+import server.sketch.HyperLogLog;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Приближённый подсчёт уникальных посетителей по HyperLogLog-скетчам, которые хранятся
+ * для каждого (app, uri) по часам и по суткам. Точность — см. {@link HyperLogLog#STANDARD_ERROR}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HitSketchService {
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+    private static final String BACKFILL = "hit_sketches";
+
+    private final HitSketchRepository hitSketchRepository;
+    private final HitSketchBulkRepository hitSketchBulkRepository;
+    private final HitBulkRepository hitBulkRepository;
+    private final StatsRepository statsRepository;
+    private final BackfillMarkerRepository backfillMarkerRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(List<EndpointHitEntity> hits) {
+        // Ключи сортируются, чтобы параллельные транзакции блокировали строки скетчей в одном порядке
+        SortedMap<SketchKey, HyperLogLog> sketches = new TreeMap<>();
+        for (EndpointHitEntity hit : hits) {
+            for (TimeBucket bucket : TimeBucket.values()) {
+                SketchKey key = new SketchKey(bucket, hit.getApp(), hit.getUri(), bucket.floor(hit.getTimestamp()));
+                sketches.computeIfAbsent(key, k -> new HyperLogLog()).add(hit.getIp());
+            }
+        }
+        hitSketchBulkRepository.mergeAll(sketches);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ViewStatsDto> estimateUniqueStats(LocalDateTime start, LocalDateTime end, List<String> uris) {
+        Map<AppUri, HyperLogLog> merged = new HashMap<>();
+        for (StatsRangePlan.Segment segment : StatsRangePlan.plan(start, end)) {
+            if (segment.isRaw()) {
+                List<HitVisitor> visitors = segment.endInclusive()
+                        ? statsRepository.findVisitors(segment.from(), segment.to(), uris)
+                        : statsRepository.findVisitorsBefore(segment.from(), segment.to(), uris);
+                visitors.forEach(visitor -> merged
+                        .computeIfAbsent(new AppUri(visitor.app(), visitor.uri()), k -> new HyperLogLog())
+                        .add(visitor.ip()));
+            } else {
+                for (HitSketchEntity sketch : hitSketchRepository.findSketches(
+                        segment.bucket(), segment.from(), segment.to(), uris)) {
+                    merged.computeIfAbsent(new AppUri(sketch.getApp(), sketch.getUri()), k -> new HyperLogLog())
+                            .mergeBytes(sketch.getRegisters());
+                }
+            }
+        }
+
+        return merged.entrySet().stream()
+                .map(e -> new ViewStatsDto(e.getKey().app(), e.getKey().uri(), e.getValue().estimate()))
+                .sorted(Comparator.comparing(ViewStatsDto::getHits).reversed())
+                .toList();
+    }
+
+    /**
+     * Строит скетчи по уже накопленным хитам, пока нет отметки о завершённом заполнении: хиты читаются
+     * курсором в транзакции, скетчи сохраняются пачками по {@value #BACKFILL_BATCH_SIZE}.
+     * Скетчи, накопленные с начала приёма хитов, строятся заново вместе с историей; вставка хитов
+     * на это время блокируется.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        if (backfillMarkerRepository.isCompleted(BACKFILL)) {
+            return;
+        }
+        hitBulkRepository.lockAgainstWrites();
+        if (backfillMarkerRepository.isCompleted(BACKFILL)) {
+            return;
+        }
+
+        hitSketchBulkRepository.deleteAll();
+        SortedMap<SketchKey, HyperLogLog> batch = new TreeMap<>();
+        for (TimeBucket bucket : TimeBucket.values()) {
+            hitSketchBulkRepository.forEachRawSketch(bucket, (key, sketch) -> {
+                batch.put(key, sketch);
+                if (batch.size() >= BACKFILL_BATCH_SIZE) {
+                    hitSketchBulkRepository.mergeAll(batch);
+                    batch.clear();
+                }
+            });
+        }
+        hitSketchBulkRepository.mergeAll(batch);
+        backfillMarkerRepository.markCompleted(BACKFILL);
+        log.info("Скетчи уникальных посетителей построены по сырым данным");
+    }
+
+    private record AppUri(String app, String uri) {
+    }
+}
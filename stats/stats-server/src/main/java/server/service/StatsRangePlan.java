@@ -0,0 +1,61 @@
+package server.service;
+
+import server.entity.TimeBucket;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Разбиение интервала [start, end] на отрезки: полные сутки и полные часы читаются из агрегатов,
+ * неполные часы по краям — из сырых хитов.
+ */
+final class StatsRangePlan {
+
+    /**
+     * Отрезок [from, to) или [from, to], если {@code endInclusive}.
+     * {@code bucket == null} означает чтение из сырых хитов.
+     */
+    record Segment(TimeBucket bucket, LocalDateTime from, LocalDateTime to, boolean endInclusive) {
+        boolean isRaw() {
+            return bucket == null;
+        }
+    }
+
+    private StatsRangePlan() {
+    }
+
+    static List<Segment> plan(LocalDateTime start, LocalDateTime end) {
+        List<Segment> segments = new ArrayList<>();
+        LocalDateTime hourStart = TimeBucket.HOUR.ceil(start);
+        LocalDateTime hourEnd = TimeBucket.HOUR.floor(end);
+
+        if (!hourStart.isBefore(hourEnd)) {
+            segments.add(new Segment(null, start, end, true));
+            return segments;
+        }
+
+        if (start.isBefore(hourStart)) {
+            segments.add(new Segment(null, start, hourStart, false));
+        }
+
+        LocalDateTime dayStart = TimeBucket.DAY.ceil(hourStart);
+        LocalDateTime dayEnd = TimeBucket.DAY.floor(hourEnd);
+        if (dayStart.isBefore(dayEnd)) {
+            addBuckets(segments, TimeBucket.HOUR, hourStart, dayStart);
+            addBuckets(segments, TimeBucket.DAY, dayStart, dayEnd);
+            addBuckets(segments, TimeBucket.HOUR, dayEnd, hourEnd);
+        } else {
+            addBuckets(segments, TimeBucket.HOUR, hourStart, hourEnd);
+        }
+
+        segments.add(new Segment(null, hourEnd, end, true));
+        return segments;
+    }
+
+    private static void addBuckets(List<Segment> segments, TimeBucket bucket, LocalDateTime from, LocalDateTime to) {
+        if (from.isBefore(to)) {
+            segments.add(new Segment(bucket, from, to, false));
+        }
+    }
+}
@@ -5,11 +5,15 @@ import lombok.extern.slf4j.Slf4j;
 import model.EndpointHitDto;
 import model.ViewStatsDto;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import server.repository.HitBulkRepository;
 import server.repository.StatsRepository;
 import server.entity.EndpointHitEntity;
 import server.mapper.EndpointHitMapper;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 @Service
@@ -19,22 +23,66 @@ public class StatsService {
 
     private final StatsRepository statsRepository;
     private final EndpointHitMapper endpointHitMapper;
+    private final HitBulkRepository hitBulkRepository;
+    private final HitRollupService hitRollupService;
+    private final HitSketchService hitSketchService;
 
+    @Transactional
     public EndpointHitDto saveHit(EndpointHitDto endpointHitDto) {
         log.info("Сохранение hit: {}", endpointHitDto);
         EndpointHitEntity entity = endpointHitMapper.toEntity(endpointHitDto);
         EndpointHitEntity savedEntity = statsRepository.save(entity);
+        hitRollupService.record(List.of(savedEntity));
+        hitSketchService.record(List.of(savedEntity));
         return endpointHitMapper.toDto(savedEntity);
     }
 
-    public List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
-        log.info("Получение статистики: start={}, end={}, uris={}, unique={}", start, end, uris, unique);
+    @Transactional
+    public int saveHits(List<EndpointHitDto> hits) {
+        if (hits.isEmpty()) {
+            return 0;
+        }
+
+        List<EndpointHitEntity> entities = hits.stream()
+                .map(endpointHitMapper::toEntity)
+                .toList();
+        int saved = hitBulkRepository.insertAll(entities);
+        hitRollupService.record(entities);
+        hitSketchService.record(entities);
+        log.info("Сохранено хитов пачкой: {}", saved);
+        return saved;
+    }
+
+    /**
+     * Сохраняет поток хитов частями по {@code chunkSize} в одной транзакции: исключение при чтении
+     * очередного хита откатывает и уже вставленные части.
+     */
+    @Transactional
+    public int saveHits(Iterator<EndpointHitDto> hits, int chunkSize) {
+        int total = 0;
+        List<EndpointHitDto> chunk = new ArrayList<>(chunkSize);
+        while (hits.hasNext()) {
+            chunk.add(hits.next());
+            if (chunk.size() == chunkSize) {
+                total += saveHits(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        return total + saveHits(chunk);
+    }
+
+    public List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> uris,
+                                       Boolean unique, Boolean approximate) {
+        log.info("Получение статистики: start={}, end={}, uris={}, unique={}, approximate={}",
+                start, end, uris, unique, approximate);
 
         List<ViewStatsDto> result;
-        if (Boolean.TRUE.equals(unique)) {
+        if (Boolean.TRUE.equals(unique) && Boolean.TRUE.equals(approximate)) {
+            result = hitSketchService.estimateUniqueStats(start, end, uris);
+        } else if (Boolean.TRUE.equals(unique)) {
             result = statsRepository.findUniqueStats(start, end, uris);
         } else {
-            result = statsRepository.findStats(start, end, uris);
+            result = hitRollupService.findStats(start, end, uris);
         }
 
         log.info("Результат статистики: {}", result);
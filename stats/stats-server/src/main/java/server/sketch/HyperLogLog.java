@@ -0,0 +1,143 @@
+package server.sketch;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * HyperLogLog с 2^12 регистрами: стандартная ошибка оценки ≈ 1.04 / √4096 ≈ 1.6%.
+ * Для малых мощностей используется линейный подсчёт, поэтому единицы и десятки посетителей
+ * оцениваются практически точно. Скетчи объединяются поэлементным максимумом регистров.
+ * <p>
+ * Сериализованный скетч хранится в одном из двух видов: плотном (все 4096 регистров)
+ * или разреженном (метка и тройки «номер регистра, значение» только для ненулевых регистров),
+ * если так короче. Скетч часа или суток с небольшим числом посетителей занимает десятки байт.
+ */
+public final class HyperLogLog {
+    public static final int PRECISION = 12;
+    public static final int REGISTERS = 1 << PRECISION;
+    public static final double STANDARD_ERROR = 1.04 / Math.sqrt(REGISTERS);
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+    private static final byte SPARSE = 1;
+    private static final int SPARSE_ENTRY = 3;
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this.registers = new byte[REGISTERS];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        return new HyperLogLog().mergeBytes(bytes);
+    }
+
+    public void add(String value) {
+        long hash = hash(value);
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        long rest = (hash << PRECISION) | (1L << (PRECISION - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+        if (registers[index] < rank) {
+            registers[index] = rank;
+        }
+    }
+
+    public HyperLogLog merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            if (registers[i] < other.registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Объединяет с сериализованным скетчем без промежуточного объекта.
+     */
+    public HyperLogLog mergeBytes(byte[] bytes) {
+        if (bytes.length == REGISTERS) {
+            for (int i = 0; i < REGISTERS; i++) {
+                if (registers[i] < bytes[i]) {
+                    registers[i] = bytes[i];
+                }
+            }
+            return this;
+        }
+
+        if (bytes.length == 0 || bytes[0] != SPARSE || (bytes.length - 1) % SPARSE_ENTRY != 0) {
+            throw new IllegalArgumentException("Некорректный размер скетча: " + bytes.length);
+        }
+        for (int offset = 1; offset < bytes.length; offset += SPARSE_ENTRY) {
+            int index = ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+            if (index >= REGISTERS) {
+                throw new IllegalArgumentException("Некорректный номер регистра в скетче: " + index);
+            }
+            byte rank = bytes[offset + 2];
+            if (registers[index] < rank) {
+                registers[index] = rank;
+            }
+        }
+        return this;
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public byte[] toBytes() {
+        int nonZero = 0;
+        for (byte register : registers) {
+            if (register != 0) {
+                nonZero++;
+            }
+        }
+
+        int sparseLength = 1 + nonZero * SPARSE_ENTRY;
+        if (sparseLength >= REGISTERS) {
+            return Arrays.copyOf(registers, REGISTERS);
+        }
+
+        byte[] bytes = new byte[sparseLength];
+        bytes[0] = SPARSE;
+        int offset = 1;
+        for (int i = 0; i < REGISTERS; i++) {
+            if (registers[i] != 0) {
+                bytes[offset] = (byte) (i >>> 8);
+                bytes[offset + 1] = (byte) i;
+                bytes[offset + 2] = registers[i];
+                offset += SPARSE_ENTRY;
+            }
+        }
+        return bytes;
+    }
+
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb93fe53ebbccL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
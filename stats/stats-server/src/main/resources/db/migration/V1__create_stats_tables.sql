@@ -0,0 +1,31 @@
+-- Схема, которую раньше создавал ddl-auto. IF NOT EXISTS позволяет накатить миграцию на уже существующую БД.
+CREATE TABLE IF NOT EXISTS endpoint_hits
+(
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    app       VARCHAR(255) NOT NULL,
+    uri       VARCHAR(255) NOT NULL,
+    ip        VARCHAR(255) NOT NULL,
+    timestamp TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS hit_rollups
+(
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    granularity  VARCHAR(10)  NOT NULL,
+    app          VARCHAR(255) NOT NULL,
+    uri          VARCHAR(255) NOT NULL,
+    bucket_start TIMESTAMP(6) NOT NULL,
+    hits         BIGINT       NOT NULL,
+    CONSTRAINT uk_hit_rollups_bucket UNIQUE (granularity, app, uri, bucket_start)
+);
+
+CREATE TABLE IF NOT EXISTS hit_sketches
+(
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    granularity  VARCHAR(10)  NOT NULL,
+    app          VARCHAR(255) NOT NULL,
+    uri          VARCHAR(255) NOT NULL,
+    bucket_start TIMESTAMP(6) NOT NULL,
+    registers    BYTEA        NOT NULL,
+    CONSTRAINT uk_hit_sketches_bucket UNIQUE (granularity, app, uri, bucket_start)
+);
@@ -0,0 +1,14 @@
+-- Запросы с фильтром по uris: поиск по (uri, timestamp), app и ip берутся из индекса без чтения таблицы
+CREATE INDEX IF NOT EXISTS idx_endpoint_hits_uri_timestamp
+    ON endpoint_hits (uri, timestamp) INCLUDE (app, ip);
+
+-- Запросы без фильтра по uris: диапазон по timestamp, группировка и COUNT(DISTINCT ip) из индекса
+CREATE INDEX IF NOT EXISTS idx_endpoint_hits_timestamp
+    ON endpoint_hits (timestamp) INCLUDE (app, uri, ip);
+
+-- Суммирование агрегатов и слияние скетчей по диапазону бакетов одной гранулярности
+CREATE INDEX IF NOT EXISTS idx_hit_rollups_granularity_bucket
+    ON hit_rollups (granularity, bucket_start) INCLUDE (app, uri, hits);
+
+CREATE INDEX IF NOT EXISTS idx_hit_sketches_granularity_bucket
+    ON hit_sketches (granularity, bucket_start, uri);
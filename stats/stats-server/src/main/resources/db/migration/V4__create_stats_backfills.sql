@@ -0,0 +1,8 @@
+-- Отметки о завершённом заполнении агрегатов и скетчей по сырым хитам. Пустая таблица после обновления
+-- означает однократный пересчёт при следующем старте: прежняя проверка «таблица агрегатов пуста»
+-- пропускала историю, если новые хиты успевали попасть в агрегаты раньше заполнения.
+CREATE TABLE IF NOT EXISTS stats_backfills
+(
+    name         VARCHAR(50)  PRIMARY KEY,
+    completed_at TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,96 @@
+package server.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import server.partition.HitPartitionManager;
+import server.partition.HitPartitionMigration;
+import server.partition.PartitionInterval;
+import server.partition.RetentionMode;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверяет по EXPLAIN, что агрегации статистики по секционированной {@code endpoint_hits}
+ * читают индексы из миграций, а не сканируют секции целиком. PostgreSQL запускается встроенным процессом.
+ */
+class StatsQueryPlanTest {
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+    private static LocalDateTime monthStart;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+        HitPartitionMigration partitionMigration = new HitPartitionMigration();
+        ReflectionTestUtils.setField(partitionMigration, "interval", PartitionInterval.MONTH);
+        Flyway.configure().dataSource(dataSource).javaMigrations(partitionMigration).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        HitPartitionManager partitionManager = new HitPartitionManager(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        ReflectionTestUtils.setField(partitionManager, "interval", PartitionInterval.MONTH);
+        ReflectionTestUtils.setField(partitionManager, "premake", 1);
+        ReflectionTestUtils.setField(partitionManager, "retention", 0);
+        ReflectionTestUtils.setField(partitionManager, "retentionMode", RetentionMode.DROP);
+        partitionManager.init();
+
+        monthStart = PartitionInterval.MONTH.floor(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO endpoint_hits (app, uri, ip, timestamp) " +
+                "SELECT 'ewm-main-service', '/events/' || (g % 1000), '10.0.' || (g % 50) || '.' || (g % 100), " +
+                "CAST(? AS timestamp) + (g % 2500000) * INTERVAL '1 second' " +
+                "FROM generate_series(1, 200000) AS g", Timestamp.valueOf(monthStart));
+        jdbcTemplate.execute("ANALYZE endpoint_hits");
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void uniqueStatsByUrisUseUriTimestampIndex() {
+        String plan = explain("SELECT app, uri, COUNT(DISTINCT ip) FROM endpoint_hits " +
+                "WHERE timestamp BETWEEN ? AND ? AND uri IN ('/events/1', '/events/2', '/events/3') " +
+                "GROUP BY app, uri ORDER BY COUNT(DISTINCT ip) DESC");
+
+        assertThat(plan).containsAnyOf("Index Only Scan", "Index Scan", "Bitmap Index Scan");
+        assertThat(plan).doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void statsWithoutUrisUseTimestampIndex() {
+        String plan = explain("SELECT app, uri, COUNT(ip) FROM endpoint_hits " +
+                "WHERE timestamp BETWEEN ? AND ? " +
+                "GROUP BY app, uri ORDER BY COUNT(ip) DESC",
+                monthStart, monthStart.plusHours(1));
+
+        assertThat(plan).containsAnyOf("Index Only Scan", "Index Scan", "Bitmap Index Scan");
+        assertThat(plan).doesNotContain("Seq Scan");
+    }
+
+    private String explain(String sql) {
+        return explain(sql, monthStart, monthStart.plusDays(20));
+    }
+
+    private String explain(String sql, LocalDateTime start, LocalDateTime end) {
+        List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class,
+                Timestamp.valueOf(start), Timestamp.valueOf(end));
+        return String.join("\n", lines);
+    }
+}